@@ -0,0 +1,148 @@
+package bit.bitgroundspring.aop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 스케줄 작업(@Scheduled) 계측
+ * - scheduler.task.duration: 실행 시간, scheduler.task.lateness: 예정 시각 대비 시작 지연 (task / scheduler 태그)
+ * - 이전 실행이 아직 끝나지 않았으면 이번 실행은 건너뛰고 scheduler.task.overlap 증가
+ * - 예정 시각은 fixedDelay(이전 종료 + 지연) / fixedRate(이전 예정 + 주기) / cron(이전 시작 이후 다음 시각) 으로 계산, 첫 실행은 지연 기록 안 함
+ */
+@Aspect
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ScheduledTaskMetricsAspect {
+    
+    private static final String DEFAULT_SCHEDULER = "taskScheduler";
+    
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    
+    private final Map<String, TaskState> tasks = new ConcurrentHashMap<>();
+    
+    @Around("@annotation(scheduled)")
+    public Object measure(ProceedingJoinPoint joinPoint, Scheduled scheduled) throws Throwable {
+        String task = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        TaskState state = tasks.computeIfAbsent(task, name -> new TaskState(name, scheduled));
+        
+        if (!state.running.compareAndSet(false, true)) {
+            state.overlapCounter.increment();
+            log.warn("Skipped scheduled task {} because the previous run is still in progress", task);
+            return null;
+        }
+        long startedAt = System.currentTimeMillis();
+        long startedNanos = System.nanoTime();
+        try {
+            if (state.expectedStart > 0) {
+                state.latenessTimer.record(Math.max(0, startedAt - state.expectedStart), TimeUnit.MILLISECONDS);
+            }
+            return joinPoint.proceed();
+        } finally {
+            state.durationTimer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+            state.expectedStart = state.nextExpectedStart(startedAt, System.currentTimeMillis());
+            state.running.set(false);
+        }
+    }
+    
+    /**
+     * 작업별 실행 상태 / 미터
+     */
+    private final class TaskState {
+        
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final Timer durationTimer;
+        private final Timer latenessTimer;
+        private final Counter overlapCounter;
+        
+        private final long fixedDelayMs;
+        private final long fixedRateMs;
+        private final CronExpression cron;
+        private final ZoneId zone;
+        
+        // 다음 실행 예정 시각 (epoch ms, 0 이면 모름) - running 으로 한 번에 한 스레드만 갱신
+        private volatile long expectedStart;
+        
+        private TaskState(String task, Scheduled scheduled) {
+            String scheduler = scheduled.scheduler().isEmpty() ? DEFAULT_SCHEDULER : scheduled.scheduler();
+            durationTimer = Timer.builder("scheduler.task.duration")
+                    .tag("task", task)
+                    .tag("scheduler", scheduler)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            latenessTimer = Timer.builder("scheduler.task.lateness")
+                    .description("Delay between the planned and the actual start of a scheduled run")
+                    .tag("task", task)
+                    .tag("scheduler", scheduler)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            overlapCounter = Counter.builder("scheduler.task.overlap")
+                    .description("Runs skipped because the previous run had not finished")
+                    .tag("task", task)
+                    .tag("scheduler", scheduler)
+                    .register(meterRegistry);
+            
+            fixedDelayMs = interval(scheduled, scheduled.fixedDelay(), scheduled.fixedDelayString());
+            fixedRateMs = interval(scheduled, scheduled.fixedRate(), scheduled.fixedRateString());
+            cron = parseCron(scheduled.cron());
+            zone = scheduled.zone().isEmpty() ? ZoneId.systemDefault() : ZoneId.of(scheduled.zone());
+        }
+        
+        private long nextExpectedStart(long startedAt, long finishedAt) {
+            if (fixedDelayMs >= 0) {
+                return finishedAt + fixedDelayMs;
+            }
+            if (fixedRateMs > 0) {
+                // 밀린 실행은 바로 이어서 실행되므로 예정 시각 기준으로 누적
+                long planned = expectedStart > 0 ? expectedStart : startedAt;
+                return planned + fixedRateMs;
+            }
+            if (cron != null) {
+                ZonedDateTime next = cron.next(ZonedDateTime.ofInstant(Instant.ofEpochMilli(startedAt), zone));
+                return next == null ? 0 : next.toInstant().toEpochMilli();
+            }
+            return 0;
+        }
+        
+        private long interval(Scheduled scheduled, long value, String expression) {
+            if (value >= 0) {
+                return scheduled.timeUnit().toMillis(value);
+            }
+            if (expression.isEmpty()) {
+                return -1;
+            }
+            try {
+                return scheduled.timeUnit().toMillis(Long.parseLong(environment.resolvePlaceholders(expression).trim()));
+            } catch (NumberFormatException e) {
+                return -1; // Duration 형식 등은 지연 계산 생략
+            }
+        }
+        
+        private CronExpression parseCron(String expression) {
+            if (expression.isEmpty()) {
+                return null;
+            }
+            String resolved = environment.resolvePlaceholders(expression);
+            return CronExpression.isValidExpression(resolved) ? CronExpression.parse(resolved) : null;
+        }
+    }
+}
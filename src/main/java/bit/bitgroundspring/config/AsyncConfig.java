@@ -31,13 +31,41 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
     
-    @Bean(name = "priceUpdateTaskExecutor")
-    public Executor priceUpdateTaskExecutor() {
+    // TaskExecutorConfig에서 가져온 Bean
+    @Bean(name = "webSocketTaskExecutor")
+    public Executor webSocketTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("PriceUpdate-");
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("WebSocket-IO-");
+        executor.initialize();
+        return executor;
+    }
+    
+    // SSE 브로드캐스트 전송 전용 (소켓 쓰기가 막혀도 공용 ForkJoinPool 에 영향 없도록 분리)
+    @Bean(name = "sseBroadcastExecutor")
+    public Executor sseBroadcastExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(20000);
+        executor.setThreadNamePrefix("SSE-Broadcast-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+    
+    // 체결 이벤트 리스너 전용 (커밋 후 실행, 체결 순서를 지키도록 스레드 1개)
+    // 큐가 차면 발행 스레드에서 직접 실행해 이벤트를 잃지 않음
+    @Bean(name = "orderEventTaskExecutor")
+    public Executor orderEventTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("OrderEvent-");
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(10);
@@ -45,14 +73,15 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
     
-    // TaskExecutorConfig에서 가져온 Bean
-    @Bean(name = "webSocketTaskExecutor")
-    public Executor webSocketTaskExecutor() {
+    // 뉴스 캐시 갱신 (네이버 검색 API 호출) 전용 - 큐가 차면 요청 스레드에서 직접 호출
+    @Bean(name = "newsRefreshExecutor")
+    public Executor newsRefreshExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(4);
-        executor.setMaxPoolSize(8);
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
         executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("WebSocket-IO-");
+        executor.setThreadNamePrefix("NewsRefresh-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.initialize();
         return executor;
     }
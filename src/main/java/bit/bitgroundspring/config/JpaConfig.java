@@ -0,0 +1,20 @@
+package bit.bitgroundspring.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+    
+    // 체결 배치처럼 한 트랜잭션에서 여러 행을 수정할 때 UPDATE 를 JDBC 배치로 묶어서 전송
+    // (application.yml 에 값이 있으면 그 값을 우선 사용)
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", 50);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+        };
+    }
+}
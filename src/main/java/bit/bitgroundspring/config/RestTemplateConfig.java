@@ -1,14 +1,191 @@
 package bit.bitgroundspring.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 외부 API 호출용 RestTemplate (목적지별로 분리)
+ * - 목적지마다 별도 JDK HttpClient (커넥션 풀 / keep-alive 재사용, 가능하면 HTTP/2) + 연결 / 응답 타임아웃
+ * - 목적지별 동시 요청 수 제한 (bulkhead) - 자리가 없으면 acquire-timeout-ms 만큼만 기다리고 실패
+ *   네이버 API 가 느려져도 업비트 호출에 쓸 스레드 / 연결이 묶이지 않음
+ * - 자동 구성된 RestTemplateBuilder 로 만들어 호스트별 지연 / 오류 지표(http.client.requests) 가 기록됨
+ * - base-url 을 바꾸면 로컬 스텁 서버로 호출 가능
+ */
 @Configuration
+@RequiredArgsConstructor
 public class RestTemplateConfig {
     
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    private final MeterRegistry meterRegistry;
+    
+    // 업비트 시세 조회 (TradeService)
+    @Value("${http.client.upbit.connect-timeout-ms:1000}")
+    private long upbitConnectTimeoutMs;
+    
+    @Value("${http.client.upbit.read-timeout-ms:2000}")
+    private long upbitReadTimeoutMs;
+    
+    @Value("${http.client.upbit.max-concurrent:32}")
+    private int upbitMaxConcurrent;
+    
+    // 네이버 뉴스 검색 / 회원 정보 (NewsService, CustomOidcUserService)
+    @Value("${http.client.naver.base-url:https://openapi.naver.com}")
+    private String naverBaseUrl;
+    
+    @Value("${http.client.naver.connect-timeout-ms:2000}")
+    private long naverConnectTimeoutMs;
+    
+    @Value("${http.client.naver.read-timeout-ms:3000}")
+    private long naverReadTimeoutMs;
+    
+    @Value("${http.client.naver.max-concurrent:8}")
+    private int naverMaxConcurrent;
+    
+    @Value("${http.client.bulkhead.acquire-timeout-ms:100}")
+    private long acquireTimeoutMs;
+    
+    @Bean(name = "upbitRestTemplate")
+    public RestTemplate upbitRestTemplate(RestTemplateBuilder builder) {
+        return configure(builder, "upbit", upbitConnectTimeoutMs, upbitReadTimeoutMs, upbitMaxConcurrent)
+                .build();
+    }
+    
+    @Bean(name = "naverRestTemplate")
+    public RestTemplate naverRestTemplate(RestTemplateBuilder builder) {
+        return configure(builder, "naver", naverConnectTimeoutMs, naverReadTimeoutMs, naverMaxConcurrent)
+                .rootUri(naverBaseUrl)
+                .build();
+    }
+    
+    private RestTemplateBuilder configure(RestTemplateBuilder builder, String client,
+                                          long connectTimeoutMs, long readTimeoutMs, int maxConcurrent) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)   // ALPN 협상 실패 시 HTTP/1.1 로 내려감
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(new BulkheadInterceptor(client, maxConcurrent));
+    }
+    
+    /**
+     * 목적지별 동시 요청 수 제한
+     */
+    private final class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+        
+        private final String client;
+        private final Semaphore permits;
+        private final Counter rejectedCounter;
+        
+        private BulkheadInterceptor(String client, int maxConcurrent) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("http.client." + client + ".max-concurrent must be at least 1");
+            }
+            this.client = client;
+            this.permits = new Semaphore(maxConcurrent);
+            Gauge.builder("http.client.bulkhead.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                    .tag("client", client)
+                    .register(meterRegistry);
+            this.rejectedCounter = Counter.builder("http.client.bulkhead.rejected")
+                    .description("Outbound requests rejected because the destination's bulkhead was full")
+                    .tag("client", client)
+                    .register(meterRegistry);
+        }
+        
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    rejectedCounter.increment();
+                    // RestTemplate 이 ResourceAccessException 으로 감싸서 던짐
+                    throw new IOException("Too many concurrent requests to " + client + " (" + request.getURI().getHost() + ")");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + client + " bulkhead");
+            }
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            // 본문을 다 읽고 응답을 닫을 때 반환 (느린 본문 전송 중인 연결도 제한에 포함)
+            return new PermitReleasingResponse(response, permits);
+        }
+    }
+    
+    /**
+     * close() 에서 bulkhead 자리를 한 번만 반환하는 응답 래퍼
+     */
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+        
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+        
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+        
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+        
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+        
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+        
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
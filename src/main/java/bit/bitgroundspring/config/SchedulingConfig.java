@@ -0,0 +1,53 @@
+package bit.bitgroundspring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 스케줄 작업(@Scheduled)용 스케줄러 (기본 scheduling-1 단일 스레드 대신 용도별로 분리)
+ * - realtimeScheduler: 수십~수백 ms 주기의 실시간 전송 (시세 스냅샷 게시, SSE 클러스터 relay flush)
+ * - connectionScheduler: 연결 유지 (SSE 하트비트 휠, presence 갱신, 업비트 WebSocket 상태 확인 / 심볼 갱신)
+ * - taskScheduler: 그 외 정리 작업 (장부 대사, 메타데이터 재적재) - scheduler 를 지정하지 않은 @Scheduled 의 기본값
+ */
+@Configuration
+public class SchedulingConfig {
+    
+    @Value("${scheduling.realtime.pool-size:2}")
+    private int realtimePoolSize;
+    
+    @Value("${scheduling.connection.pool-size:2}")
+    private int connectionPoolSize;
+    
+    @Value("${scheduling.housekeeping.pool-size:2}")
+    private int housekeepingPoolSize;
+    
+    @Bean(name = "realtimeScheduler")
+    public ThreadPoolTaskScheduler realtimeScheduler() {
+        return scheduler(realtimePoolSize, "Sched-Realtime-");
+    }
+    
+    @Bean(name = "connectionScheduler")
+    public ThreadPoolTaskScheduler connectionScheduler() {
+        return scheduler(connectionPoolSize, "Sched-Connection-");
+    }
+    
+    // 이름이 taskScheduler 인 빈을 @Scheduled 기본 스케줄러로 사용
+    @Primary
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return scheduler(housekeepingPoolSize, "Sched-Housekeeping-");
+    }
+    
+    private ThreadPoolTaskScheduler scheduler(int poolSize, String threadNamePrefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -6,6 +6,8 @@ import bit.bitgroundspring.dto.CoinSymbolDto;
 import bit.bitgroundspring.dto.AiInsightSymbolDto; // AiInsightSymbolDto 임포트 유지
 import bit.bitgroundspring.entity.AiInsight;
 import bit.bitgroundspring.entity.Coin; // Coin 엔티티 임포트 유지 (coinRepository 사용 위함)
+import bit.bitgroundspring.market.LeaderboardView;
+import bit.bitgroundspring.market.MarketDataService;
 import bit.bitgroundspring.repository.CoinRepository;
 import bit.bitgroundspring.service.GeminiService;
 import bit.bitgroundspring.repository.AiInsightRepository; // AiInsightRepository 임포트 유지
@@ -17,11 +19,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate; // LocalDate 임포트 유지
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.ArrayList; // ArrayList 임포트 유지
 import java.util.HashSet; // HashSet 임포트 유지
@@ -35,6 +39,13 @@ public class CoinController {
     private final CoinRepository coinRepository;
     private final GeminiService geminiService;
     private final AiInsightRepository aiInsightRepository; // AiInsightRepository 주입
+    private final MarketDataService marketDataService;
+
+    // 시세 기반 목록은 인메모리 시장 스냅샷에서 계산 (스냅샷이 아직 비어 있으면 DB 조회)
+    private List<Coin> marketCoins() {
+        List<Coin> coins = marketDataService.getAllCoins();
+        return coins.isEmpty() ? coinRepository.findAll() : coins;
+    }
 
     // 모든 코인 정보 조회 엔드포인트
     // GET 요청: http://localhost:8090/api/coins
@@ -44,39 +55,51 @@ public class CoinController {
         return coinRepository.findAll();
     }
 
+    // 순위 목록 응답: 미리 계산된 상위 K 뷰를 그대로 반환, ETag 가 같으면 304
+    // 뷰가 아직 없으면 (기동 직후 등) DB 에서 정렬
+    private List<Coin> leaderboard(LeaderboardView view, WebRequest webRequest, Supplier<List<Coin>> fallback) {
+        if (view.isEmpty()) {
+            return fallback.get();
+        }
+        if (webRequest.checkNotModified(view.etag())) {
+            return null;
+        }
+        return view.coins();
+    }
+
     // 거래대금 상위 5개 코인 조회 엔드포인트
     // GET 요청: http://localhost:8090/api/coins/high-trade-price
     @GetMapping("/coins/high-trade-price")
-    public List<Coin> getTop5HighTradePriceCoins() {
+    public List<Coin> getTop5HighTradePriceCoins(WebRequest webRequest) {
         log.info("Request to get top 5 coins by high trade price.");
-        return coinRepository.findAll().stream()
+        return leaderboard(marketDataService.getTopTradePrice(), webRequest, () -> coinRepository.findAll().stream()
                 .sorted(Comparator.comparing(Coin::getTradePrice24h).reversed())
-                .limit(5)
-                .collect(Collectors.toList());
+                .limit(MarketDataService.TOP_K)
+                .collect(Collectors.toList()));
     }
 
     // 상승폭 큰 종목 상위 5개 코인 조회 엔드포인트
     // GET 요청: http://localhost:8090/api/coins/price-increase
     @GetMapping("/coins/price-increase")
-    public List<Coin> getTop5PriceIncreaseCoins() {
+    public List<Coin> getTop5PriceIncreaseCoins(WebRequest webRequest) {
         log.info("Request to get top 5 coins by price increase.");
-        return coinRepository.findAll().stream()
+        return leaderboard(marketDataService.getTopIncrease(), webRequest, () -> coinRepository.findAll().stream()
                 .filter(coin -> coin.getChangeRate() != null)
                 .sorted(Comparator.comparing(Coin::getChangeRate).reversed())
-                .limit(5)
-                .collect(Collectors.toList());
+                .limit(MarketDataService.TOP_K)
+                .collect(Collectors.toList()));
     }
 
     // 하락폭 큰 종목 상위 5개 코인 조회 엔드포인트
     // GET 요청: http://localhost:8090/api/coins/price-decrease
     @GetMapping("/coins/price-decrease")
-    public List<Coin> getTop5PriceDecreaseCoins() {
+    public List<Coin> getTop5PriceDecreaseCoins(WebRequest webRequest) {
         log.info("Request to get top 5 coins by price decrease.");
-        return coinRepository.findAll().stream()
+        return leaderboard(marketDataService.getTopDecrease(), webRequest, () -> coinRepository.findAll().stream()
                 .filter(coin -> coin.getChangeRate() != null)
                 .sorted(Comparator.comparing(Coin::getChangeRate))
-                .limit(5)
-                .collect(Collectors.toList());
+                .limit(MarketDataService.TOP_K)
+                .collect(Collectors.toList()));
     }
 
     // 거래유의 종목 조회 엔드포인트 (Upbit의 'warning'에 해당)
@@ -84,7 +107,7 @@ public class CoinController {
     @GetMapping("/coins/caution")
     public List<Coin> getCautionCoins() {
         log.info("Request to get caution coins (isWarning).");
-        return coinRepository.findAll().stream()
+        return marketCoins().stream()
                 .filter(Coin::getIsWarning)
                 .collect(Collectors.toList());
     }
@@ -94,7 +117,7 @@ public class CoinController {
     @GetMapping("/coins/alert")
     public List<Coin> getAlertCoins() {
         log.info("Request to get alert coins (isCaution).");
-        return coinRepository.findAll().stream()
+        return marketCoins().stream()
                 .filter(Coin::getIsCaution)
                 .collect(Collectors.toList());
     }
@@ -8,11 +8,14 @@ import bit.bitgroundspring.util.UserSseEmitters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -54,6 +57,18 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.findNotifications(userId, pageable));
     }
     
+    // 키셋 페이지네이션 조회 - 마지막으로 받은 알림의 (createdAt, id) 를 커서로 전달
+    @GetMapping("/feed")
+    public ResponseEntity<Slice<NotificationProjection>> getNotificationFeed(
+            @CookieValue(name = "jwt_token", required = false) String jwtToken,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) Integer cursorId,
+            @RequestParam(defaultValue = "20") int size) {
+        Integer userId = authService.getUserIdFromToken(jwtToken);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return ResponseEntity.ok(notificationService.findNotificationsBefore(userId, cursorCreatedAt, cursorId, pageSize));
+    }
+    
     @PatchMapping
     public ResponseEntity<Void> markAsRead(
             @CookieValue(name = "jwt_token", required = false) String jwtToken) {
@@ -1,31 +1,31 @@
 package bit.bitgroundspring.controller;
 
 import bit.bitgroundspring.dto.OrderRequestDto;
-import bit.bitgroundspring.dto.TradeDto;
 import bit.bitgroundspring.dto.response.OrderResponseDto;
 import bit.bitgroundspring.security.oauth2.AuthService;
-import bit.bitgroundspring.service.OrderService;
+import bit.bitgroundspring.service.RecentTradeService;
 import bit.bitgroundspring.service.TradeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/trade")
 @RequiredArgsConstructor
 public class TradeController {
-    private final OrderService orderService;
+    private final RecentTradeService recentTradeService;
     private final TradeService tradeService;
     private final AuthService authService;
 
     @GetMapping("/history")
-    public ResponseEntity<List<TradeDto>> getTradeHistory(
+    public ResponseEntity<String> getTradeHistory(
             @RequestParam("symbol") String symbol
     ) {
-        List<TradeDto> history = orderService.getRecentTrades(symbol);
-        return ResponseEntity.ok(history);
+        // 최근 체결 JSON 은 다음 체결 전까지 미리 만들어 둔 문자열을 그대로 사용
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(recentTradeService.getRecentTradesJson(symbol));
     }
 
     @PostMapping
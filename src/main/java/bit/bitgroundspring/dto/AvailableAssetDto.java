@@ -0,0 +1,16 @@
+package bit.bitgroundspring.dto;
+
+import bit.bitgroundspring.dto.projection.UserAssetProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 매도 가능 자산 (보유 수량 - 매도 예약 수량), 기존 UserAssetProjection 응답 형태 유지
+ */
+@Getter
+@AllArgsConstructor
+public class AvailableAssetDto implements UserAssetProjection {
+    private String symbol;
+    private Double amount;
+    private Double avgPrice;
+}
@@ -0,0 +1,17 @@
+package bit.bitgroundspring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 네이버 뉴스 검색 결과 한 건 (title / description 은 <b> 태그만 남긴 상태)
+ */
+@Getter
+@AllArgsConstructor
+public class NewsItemDto {
+    private String title;
+    private String originallink;
+    private String link;
+    private String description;
+    private String pubDate;
+}
@@ -0,0 +1,6 @@
+package bit.bitgroundspring.dto.projection;
+
+public interface OrderOwnerProjection {
+    Integer getId();
+    Integer getUserId();
+}
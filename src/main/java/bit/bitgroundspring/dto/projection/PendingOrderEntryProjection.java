@@ -0,0 +1,13 @@
+package bit.bitgroundspring.dto.projection;
+
+import bit.bitgroundspring.entity.OrderType;
+
+public interface PendingOrderEntryProjection {
+    Integer getId();
+    Integer getUserId();        // 예약 장부용
+    Integer getCoinId();        // 예약 장부용
+    String getSymbol();         // coin 테이블
+    OrderType getOrderType();   // orders 테이블
+    Float getReservePrice();    // 감시 가격
+    Double getAmount();         // 예약 수량
+}
@@ -0,0 +1,9 @@
+package bit.bitgroundspring.dto.projection;
+
+import bit.bitgroundspring.entity.OrderType;
+
+public interface PendingOrderKeyProjection {
+    Integer getId();
+    String getSymbol();         // coin 테이블
+    OrderType getOrderType();   // orders 테이블
+}
@@ -0,0 +1,16 @@
+package bit.bitgroundspring.dto.projection;
+
+import bit.bitgroundspring.entity.OrderType;
+
+import java.time.LocalDateTime;
+
+public interface RecentTradeProjection {
+    Integer getId();            // 최근 체결 링 버퍼 중복 확인용
+    String getSymbol();
+    String getKoreanName();
+    OrderType getOrderType();
+    Double getAmount();
+    Double getTradePrice();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
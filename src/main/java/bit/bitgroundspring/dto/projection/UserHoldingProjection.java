@@ -0,0 +1,8 @@
+package bit.bitgroundspring.dto.projection;
+
+public interface UserHoldingProjection {
+    Integer getCoinId();
+    String getSymbol();
+    Double getAmount();
+    Double getAvgPrice();
+}
@@ -1,18 +1,55 @@
 // OrderCreatedEvent.java
 package bit.bitgroundspring.event;
 
+import bit.bitgroundspring.dto.TradeDto;
 import bit.bitgroundspring.entity.Order;
+import bit.bitgroundspring.entity.Status;
 import org.springframework.context.ApplicationEvent;
 
+/**
+ * 주문 저장(체결) 이벤트
+ * - 리스너는 커밋 후 다른 스레드에서 실행되므로, 발행 시점(트랜잭션 안)에 필요한 값을 미리 복사해 둠
+ *   (커밋 후에는 Order 의 지연 로딩 연관관계에 접근할 수 없음)
+ */
 public class OrderCreatedEvent extends ApplicationEvent {
-    private final Order order;
+    private final Integer orderId;
+    private final Status status;
+    private final TradeDto trade;
+    private final long publishedAtNanos;
 
     public OrderCreatedEvent(Object source, Order order) {
         super(source);
-        this.order = order;
+        this.orderId = order.getId();
+        this.status = order.getStatus();
+        this.trade = new TradeDto(
+                order.getCoin().getSymbol(),
+                order.getCoin().getKoreanName(),
+                order.getOrderType(),
+                order.getAmount(),
+                order.getTradePrice(),
+                order.getCreatedAt(),
+                order.getUpdatedAt()
+        );
+        this.publishedAtNanos = System.nanoTime();
     }
 
-    public Order getOrder() {
-        return order;
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getSymbol() {
+        return trade.getSymbol();
+    }
+
+    public TradeDto getTrade() {
+        return trade;
+    }
+
+    public long getPublishedAtNanos() {
+        return publishedAtNanos;
     }
 }
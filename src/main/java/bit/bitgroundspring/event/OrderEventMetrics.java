@@ -0,0 +1,46 @@
+package bit.bitgroundspring.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결 이벤트 리스너별 지표
+ * - order.event.listener.lag: 발행(트랜잭션 안) → 리스너 시작까지 (커밋 + 큐 대기)
+ * - order.event.listener.duration: 리스너 실행 시간
+ * - order.event.listener.failed: 리스너 예외 수 (예외는 여기서 기록하고 삼킴)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String listener, OrderCreatedEvent event, Runnable body) {
+        long startedAt = System.nanoTime();
+        Timer.builder("order.event.listener.lag")
+                .tag("listener", listener)
+                .register(meterRegistry)
+                .record(startedAt - event.getPublishedAtNanos(), TimeUnit.NANOSECONDS);
+        try {
+            body.run();
+        } catch (Exception e) {
+            Counter.builder("order.event.listener.failed")
+                    .tag("listener", listener)
+                    .register(meterRegistry)
+                    .increment();
+            log.error("Order event listener {} failed for order {}", listener, event.getOrderId(), e);
+        } finally {
+            Timer.builder("order.event.listener.duration")
+                    .tag("listener", listener)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
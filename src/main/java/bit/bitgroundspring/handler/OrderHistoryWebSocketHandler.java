@@ -1,46 +1,168 @@
 package bit.bitgroundspring.handler;
 
 import bit.bitgroundspring.dto.TradeDto;
-import bit.bitgroundspring.entity.Order;
-import bit.bitgroundspring.entity.OrderType;
 import bit.bitgroundspring.event.OrderCreatedEvent;
-import bit.bitgroundspring.service.OrderService;
+import bit.bitgroundspring.event.OrderEventMetrics;
+import bit.bitgroundspring.service.RecentTradeService;
+import bit.bitgroundspring.util.BoundedRingBuffer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 심볼별 체결 내역 실시간 피드
+ * - 체결 이벤트는 커밋 후 이벤트 스레드에서 심볼별 대기열에 넣기만 함 (롤백된 체결은 전송하지 않음)
+ * - flush 스레드가 flush-interval-ms 마다 심볼별로 모인 체결을 배열 프레임 하나로 직렬화
+ *   ({"type":"update","data":[...]} - initial 과 같이 최신순)
+ * - 실제 소켓 쓰기는 세션별 대기열에 넣고 전송 풀에서 수행 (세션마다 쓰기 루프는 최대 하나 → 순서 유지,
+ *   멈춘 소켓 하나가 flush 스레드나 다른 세션의 전송을 막지 않음)
+ * - 세션은 ConcurrentWebSocketSessionDecorator 로 감싸 세션별 전송 버퍼/시간을 제한하고,
+ *   대기 프레임이 max-pending-frames 를 넘긴 느린 세션은 끊음
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class OrderHistoryWebSocketHandler
-        extends TextWebSocketHandler
-        implements ApplicationListener<OrderCreatedEvent> {
+public class OrderHistoryWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper;
-    private final OrderService orderService;
+    private final RecentTradeService recentTradeService;
+    private final MeterRegistry meterRegistry;
+    private final OrderEventMetrics orderEventMetrics;
+
+    @Value("${trade.feed.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    // 심볼별 전송 대기 체결 수 (초과분은 버림)
+    @Value("${trade.feed.pending-capacity:1024}")
+    private int pendingCapacity;
+
+    @Value("${trade.feed.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${trade.feed.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    // 소켓 쓰기 전용 스레드 수
+    @Value("${trade.feed.send-threads:4}")
+    private int sendThreads;
+
+    // 세션별로 아직 쓰지 못한 프레임 최대 개수 (기본 50ms × 40 = 2초 분량)
+    @Value("${trade.feed.max-pending-frames:40}")
+    private int maxPendingFrames;
 
     /**
-     * symbol → 해당 symbol 을 구독(subscribe) 중인 WebSocketSession 집합
+     * symbol → 해당 symbol 을 구독(subscribe) 중인 WebSocketSession 집합 (데코레이터로 감싼 세션)
      * 예: subscribers.get("KRW-BTC") = {session1, session2, ...}
      */
-    private final Map<String, Set<WebSocketSession>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<FeedSession>> subscribers = new ConcurrentHashMap<>();
+
+    // 원본 세션 ID → 데코레이터로 감싼 세션
+    private final Map<String, FeedSession> sessions = new ConcurrentHashMap<>();
+
+    // symbol → 아직 전송하지 않은 체결
+    private final Map<String, BoundedRingBuffer<TradeDto>> pendingTrades = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flushExecutor;
+    private ExecutorService sendExecutor;
+    private Counter droppedTradesCounter;
+    private Counter slowSessionCounter;
+
+    /**
+     * 클라이언트로 보내는 메시지 ({"type": "update", "data": ...})
+     */
+    private record FeedMessage(String type, Object data) {
+    }
+
+    /**
+     * 구독 세션 + 전송 대기열 - pending 을 0 에서 올린 쪽이 쓰기 루프를 전송 풀에 제출 (0 이 아니면 쓰는 중)
+     */
+    private static final class FeedSession {
+        private final WebSocketSession session;
+        private final Queue<TextMessage> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        private FeedSession(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    @PostConstruct
+    private void init() {
+        Gauge.builder("trade.feed.sessions", sessions, Map::size)
+                .register(meterRegistry);
+        droppedTradesCounter = Counter.builder("trade.feed.dropped")
+                .description("Trades dropped because the per-symbol feed queue was full")
+                .register(meterRegistry);
+        slowSessionCounter = Counter.builder("trade.feed.slow_session")
+                .description("Sessions closed because they could not keep up with the feed")
+                .register(meterRegistry);
+
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "TradeFeed-Flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger sendThreadIndex = new AtomicInteger();
+        sendExecutor = Executors.newFixedThreadPool(sendThreads, r -> {
+            Thread thread = new Thread(r, "TradeFeed-Send-" + sendThreadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        if (sendExecutor != null) {
+            sendExecutor.shutdownNow();
+        }
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
-        // 클라이언트와 연결만 맺어둡니다. 실제 구독 메시지는 handleTextMessage 에서 처리.
+        // 세션별 전송 버퍼/시간 제한 - 초과하면 데코레이터가 세션을 닫음
+        sessions.put(session.getId(), new FeedSession(new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimit,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE)));
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        FeedSession decorated = sessions.remove(session.getId());
+        if (decorated == null) {
+            return;
+        }
         // 세션이 닫힐 때, 모든 심볼 구독 집합에서 이 세션을 제거합니다.
-        subscribers.values().forEach(set -> set.remove(session));
+        subscribers.values().forEach(set -> set.remove(decorated));
         // 빈 집합은 맵에서 지워도 무방
         subscribers.entrySet().removeIf(entry -> entry.getValue().isEmpty());
     }
@@ -52,25 +174,27 @@ public class OrderHistoryWebSocketHandler
         String action = payload.get("action");   // "subscribe" 또는 "unsubscribe"
         String symbol = payload.get("symbol");   // ex) "KRW-BTC"
 
+        FeedSession decorated = sessions.get(session.getId());
+        if (decorated == null) {
+            return; // 이미 닫힌 세션
+        }
+
         if ("subscribe".equalsIgnoreCase(action) && symbol != null) {
             // ▶ 해당 심볼 구독자 집합에 이 세션을 등록
             subscribers
                     .computeIfAbsent(symbol, k -> ConcurrentHashMap.newKeySet())
-                    .add(session);
-
-            // ▶ 연결 직후, DB 에서 최근 100건(또는 원하는 개수)만큼 가져와서 초기 데이터 보내기
-            List<TradeDto> recentList = orderService.getRecentTrades(symbol);
-            Map<String, Object> initMsg = new HashMap<>();
-            initMsg.put("type", "initial");
-            initMsg.put("data", recentList);
+                    .add(decorated);
 
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(initMsg)));
+            // ▶ 연결 직후, 최근 체결 내역을 초기 데이터로 보내기 (미리 직렬화된 JSON 재사용)
+            //   업데이트와 같은 대기열을 거쳐 initial 이 먼저 나감
+            String recentJson = recentTradeService.getRecentTradesJson(symbol);
+            enqueue(decorated, new TextMessage("{\"type\":\"initial\",\"data\":" + recentJson + "}"));
         }
         else if ("unsubscribe".equalsIgnoreCase(action) && symbol != null) {
             // ▶ 구독 해제: 해당 세션을 심볼 구독 집합에서 제거
-            Set<WebSocketSession> set = subscribers.get(symbol);
+            Set<FeedSession> set = subscribers.get(symbol);
             if (set != null) {
-                set.remove(session);
+                set.remove(decorated);
                 if (set.isEmpty()) {
                     subscribers.remove(symbol);
                 }
@@ -79,54 +203,139 @@ public class OrderHistoryWebSocketHandler
         // 그 외(action 잘못 들어오거나 symbol 누락 등)는 무시해도 됩니다.
     }
 
-    @Override
-    public void onApplicationEvent(OrderCreatedEvent event) {
-        // 주문이 저장된 뒤에 이벤트를 발행하면 이 메서드 호출
-        Order saved = event.getOrder();
-
-        String symbol = saved.getCoin().getSymbol();
-        String koreanName = saved.getCoin().getKoreanName();
-        OrderType orderType = saved.getOrderType();
-        Double amount = saved.getAmount();
-        Double tradePrice = saved.getTradePrice();
-        LocalDateTime createdAt = saved.getCreatedAt();
-        LocalDateTime updatedAt = saved.getUpdatedAt();
-
-        Set<WebSocketSession> sessions = subscribers.get(symbol);
-        if (sessions == null || sessions.isEmpty()) {
+    /**
+     * 커밋된 체결만 대기열에 넣음 - 전송은 flush 스레드에서
+     */
+    @Async("orderEventTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        orderEventMetrics.record("trade-feed", event, () -> enqueue(event));
+    }
+
+    private void enqueue(OrderCreatedEvent event) {
+        String symbol = event.getSymbol();
+        Set<FeedSession> watchers = subscribers.get(symbol);
+        if (watchers == null || watchers.isEmpty()) {
             return; // 해당 심볼을 구독 중인 세션이 없으면 끝
         }
 
-        // DTO 로 변환 (TradeDto)
-        TradeDto dto = new TradeDto(
-                symbol,
-                koreanName,
-                orderType,
-                amount,
-                tradePrice,
-                createdAt,
-                updatedAt
-        );
+        BoundedRingBuffer<TradeDto> queue =
+                pendingTrades.computeIfAbsent(symbol, k -> new BoundedRingBuffer<>(pendingCapacity));
+        if (!queue.offer(event.getTrade())) {
+            droppedTradesCounter.increment();
+        }
+    }
+
+    /**
+     * 심볼별로 모인 체결을 꺼내 구독자에게 전송 (flush 스레드)
+     */
+    private void flush() {
+        for (Map.Entry<String, BoundedRingBuffer<TradeDto>> entry : pendingTrades.entrySet()) {
+            BoundedRingBuffer<TradeDto> queue = entry.getValue();
+            if (queue.isEmpty()) {
+                continue;
+            }
+            try {
+                flushSymbol(entry.getKey(), queue);
+            } catch (Exception e) {
+                log.error("Trade feed flush failed for {}", entry.getKey(), e);
+            }
+        }
+    }
 
-        Map<String, Object> updateMsg = new HashMap<>();
-        updateMsg.put("type", "update");
-        updateMsg.put("data", dto);
+    private void flushSymbol(String symbol, BoundedRingBuffer<TradeDto> queue) throws IOException {
+        List<TradeDto> trades = new ArrayList<>();
+        TradeDto dto;
+        while ((dto = queue.poll()) != null) {
+            trades.add(dto);
+        }
 
-        String json;
-        try {
-            json = objectMapper.writeValueAsString(updateMsg);
-        } catch (IOException e) {
+        Set<FeedSession> watchers = subscribers.get(symbol);
+        if (trades.isEmpty() || watchers == null || watchers.isEmpty()) {
             return;
         }
-        TextMessage text = new TextMessage(json);
+        // 이번 배치를 최신순 배열 프레임 하나로 한 번만 직렬화해 모든 구독자가 공유
+        Collections.reverse(trades);
+        TextMessage frame = new TextMessage(objectMapper.writeValueAsString(new FeedMessage("update", trades)));
+        for (FeedSession session : watchers) {
+            enqueue(session, frame);
+        }
+    }
 
-        // 각 WebSocketSession 에 실시간 푸시
-        for (WebSocketSession sess : sessions) {
-            if (sess.isOpen()) {
-                try {
-                    sess.sendMessage(text);
-                } catch (IOException ignored) { }
+    /**
+     * 세션 대기열에 프레임 추가 - 비어 있었으면 쓰기 루프를 전송 풀에 제출, 너무 밀린 세션은 닫음
+     */
+    private void enqueue(FeedSession feedSession, TextMessage frame) {
+        if (!feedSession.session.isOpen()) {
+            return;
+        }
+        if (feedSession.pending.get() >= maxPendingFrames) {
+            if (!feedSession.closing.compareAndSet(false, true)) {
+                return; // 이미 닫는 중
             }
+            slowSessionCounter.increment();
+            log.debug("Closing trade feed session {}: {} frames pending",
+                    feedSession.session.getId(), feedSession.pending.get());
+            closeQuietly(feedSession);
+            return;
+        }
+        feedSession.outbox.add(frame);
+        if (feedSession.pending.getAndIncrement() > 0) {
+            return; // 쓰는 중인 루프가 이어서 보냄
+        }
+        try {
+            sendExecutor.execute(() -> drain(feedSession));
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - 쌓인 프레임은 버림
+            do {
+                feedSession.outbox.poll();
+            } while (feedSession.pending.decrementAndGet() > 0);
+        }
+    }
+
+    private void drain(FeedSession feedSession) {
+        boolean writable = true;
+        do {
+            TextMessage frame = feedSession.outbox.poll();
+            if (writable && frame != null) {
+                writable = send(feedSession.session, frame);
+            }
+        } while (feedSession.pending.decrementAndGet() > 0);
+    }
+
+    private void closeQuietly(FeedSession feedSession) {
+        try {
+            // 멈춘 소켓의 close 가 호출 스레드를 막지 않도록 전송 풀에서 닫음
+            sendExecutor.execute(() -> {
+                try {
+                    feedSession.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException e) {
+                    log.debug("Failed to close trade feed session {}: {}", feedSession.session.getId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    /**
+     * 데코레이터를 통해 전송 - 버퍼/시간 제한을 넘긴 세션은 데코레이터가 닫고 구독에서 빠짐
+     * @return 계속 보내도 되면 true
+     */
+    private boolean send(WebSocketSession session, TextMessage text) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        try {
+            session.sendMessage(text);
+            return true;
+        } catch (SessionLimitExceededException e) {
+            slowSessionCounter.increment();
+            log.debug("Closed slow trade feed session {}: {}", session.getId(), e.getMessage());
+            return false;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Trade feed send failed for session {}: {}", session.getId(), e.getMessage());
+            return false;
         }
     }
 }
@@ -0,0 +1,66 @@
+package bit.bitgroundspring.market;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * 지표 값 기준으로 정렬된 심볼 ID 집합 (점수가 바뀐 심볼만 빼고 다시 넣는 증분 갱신)
+ * - 정렬: 점수 내림차순, 같으면 심볼 ID 오름차순
+ * - 앞에서 읽으면 상위, 뒤에서 읽으면 하위 K 개 (O(log n) 갱신, O(K) 조회)
+ * - 스레드 안전하지 않음 (MarketDataService 의 락 안에서만 사용)
+ */
+class Leaderboard {
+
+    private final double[] scores = new double[SymbolRegistry.MAX_SYMBOLS];
+    private final TreeSet<Integer> ranking = new TreeSet<>((a, b) -> {
+        int byScore = Double.compare(scores[b], scores[a]);
+        return byScore != 0 ? byScore : Integer.compare(a, b);
+    });
+    private final boolean[] present = new boolean[SymbolRegistry.MAX_SYMBOLS];
+
+    /**
+     * 심볼 점수 갱신 (NaN 이면 순위에서 제외)
+     */
+    void update(int symbolId, double score) {
+        if (present[symbolId]) {
+            if (Double.compare(scores[symbolId], score) == 0) {
+                return;
+            }
+            // 정렬 키가 바뀌기 전에 기존 위치에서 제거
+            ranking.remove(symbolId);
+            present[symbolId] = false;
+        }
+        if (Double.isNaN(score)) {
+            return;
+        }
+        scores[symbolId] = score;
+        ranking.add(symbolId);
+        present[symbolId] = true;
+    }
+
+    void clear() {
+        ranking.clear();
+        Arrays.fill(present, false);
+    }
+
+    boolean isEmpty() {
+        return ranking.isEmpty();
+    }
+
+    /**
+     * 상위(fromTop) 또는 하위 K 개 심볼 ID 를 ids 에 채우고 개수 반환
+     */
+    int collect(boolean fromTop, int[] ids) {
+        Iterator<Integer> it = fromTop ? ranking.iterator() : ranking.descendingIterator();
+        int count = 0;
+        while (count < ids.length && it.hasNext()) {
+            ids[count++] = it.next();
+        }
+        return count;
+    }
+
+    double score(int symbolId) {
+        return scores[symbolId];
+    }
+}
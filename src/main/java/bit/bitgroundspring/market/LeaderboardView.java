@@ -0,0 +1,20 @@
+package bit.bitgroundspring.market;
+
+import bit.bitgroundspring.entity.Coin;
+
+import java.util.List;
+
+/**
+ * 게시된 상위 K 목록 (불변)
+ * - version 은 목록 내용(순서, 값)이 바뀔 때만 증가하므로 ETag 로 사용
+ */
+public record LeaderboardView(String name, long version, String etag, List<Coin> coins) {
+
+    public static LeaderboardView empty(String name) {
+        return new LeaderboardView(name, 0, null, List.of());
+    }
+
+    public boolean isEmpty() {
+        return coins.isEmpty();
+    }
+}
@@ -0,0 +1,273 @@
+package bit.bitgroundspring.market;
+
+import bit.bitgroundspring.entity.Coin;
+import bit.bitgroundspring.repository.CoinRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 업비트 티커로 갱신되는 인메모리 시장 데이터
+ * - 티커 수신 스레드는 작업 배열(심볼 ID 인덱스)만 갱신
+ * - 게시 주기마다 작업 배열을 복사해 불변 MarketSnapshot 으로 교체 (copy-on-write)
+ * - 코인 이름 / 유의·주의 플래그 같은 메타데이터는 DB 에서 주기적으로 다시 읽음
+ * - 거래대금 / 등락률 순위는 값이 바뀐 심볼만 증분 갱신하고, 게시 시점에 상위 K 목록을 불변 뷰로 만들어 둠
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MarketDataService {
+
+    public static final int TOP_K = 5;
+
+    private final SymbolRegistry symbolRegistry;
+    private final CoinRepository coinRepository;
+
+    @Value("${market.snapshot.publish-interval-ms:100}")
+    private long publishIntervalMs;
+
+    // 작업 배열 (this 로 동기화)
+    private final Coin[] coins = new Coin[SymbolRegistry.MAX_SYMBOLS];
+    private final double[] tradePrices = filledNaN();
+    private final double[] changeRates = filledNaN();
+    private final double[] accTradePrices24h = filledNaN();
+    private final double[] highPrices = filledNaN();
+    private final double[] lowPrices = filledNaN();
+    private final long[] updatedAts = new long[SymbolRegistry.MAX_SYMBOLS];
+
+    private boolean dirty = false;
+    private long version = 0;
+    private long lastPublishedAt = 0;
+
+    private volatile MarketSnapshot snapshot = MarketSnapshot.EMPTY;
+
+    // 순위 (작업 배열과 같은 락으로 보호)
+    private final Leaderboard tradePriceBoard = new Leaderboard();
+    private final Leaderboard changeRateBoard = new Leaderboard();
+
+    // ETag 가 재시작 전후로 겹치지 않도록 기동 시각을 포함
+    private final String etagPrefix = Long.toString(System.currentTimeMillis(), 36);
+
+    private final BoardPublisher topTradePrice = new BoardPublisher("trade-price", tradePriceBoard, true);
+    private final BoardPublisher topIncrease = new BoardPublisher("increase", changeRateBoard, true);
+    private final BoardPublisher topDecrease = new BoardPublisher("decrease", changeRateBoard, false);
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onApplicationReady() {
+        refreshCoinMetadata();
+    }
+
+    /**
+     * 최신 스냅샷 (락 없음)
+     */
+    public MarketSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public LeaderboardView getTopTradePrice() {
+        return topTradePrice.view;
+    }
+
+    public LeaderboardView getTopIncrease() {
+        return topIncrease.view;
+    }
+
+    public LeaderboardView getTopDecrease() {
+        return topDecrease.view;
+    }
+
+    /**
+     * 티커 한 건 반영 - 게시 주기가 지났으면 바로 게시
+     */
+    public void onTicker(TickerFrame ticker) {
+        int id = ticker.symbolId;
+        if (id < 0 || id >= SymbolRegistry.MAX_SYMBOLS) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            tradePrices[id] = ticker.tradePrice;
+            if (!Double.isNaN(ticker.changeRate)) {
+                changeRates[id] = ticker.changeRate;
+            }
+            if (!Double.isNaN(ticker.accTradePrice24h)) {
+                accTradePrices24h[id] = ticker.accTradePrice24h;
+            }
+            if (!Double.isNaN(ticker.highPrice)) {
+                highPrices[id] = ticker.highPrice;
+            }
+            if (!Double.isNaN(ticker.lowPrice)) {
+                lowPrices[id] = ticker.lowPrice;
+            }
+            updatedAts[id] = ticker.timestamp > 0 ? ticker.timestamp : now;
+            updateBoards(id);
+            dirty = true;
+
+            if (now - lastPublishedAt >= publishIntervalMs) {
+                publish(now);
+            }
+        }
+    }
+
+    /**
+     * 티커가 뜸해도 마지막 변경분이 게시되도록 주기적으로 확인
+     */
+    @Scheduled(fixedDelayString = "${market.snapshot.publish-interval-ms:100}", scheduler = "realtimeScheduler")
+    public void flush() {
+        synchronized (this) {
+            if (dirty) {
+                publish(System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * 코인 메타데이터 (이름, 유의/주의/삭제 플래그, DB 거래대금/등락률) 재적재
+     */
+    @Scheduled(fixedDelayString = "${market.snapshot.metadata-refresh-ms:60000}",
+            initialDelayString = "${market.snapshot.metadata-refresh-ms:60000}")
+    public void refreshCoinMetadata() {
+        List<Coin> all;
+        try {
+            all = coinRepository.findAll();
+        } catch (Exception e) {
+            log.error("Failed to load coin metadata for market snapshot", e);
+            return;
+        }
+
+        synchronized (this) {
+            Arrays.fill(coins, null);
+            tradePriceBoard.clear();
+            changeRateBoard.clear();
+            for (Coin coin : all) {
+                int id = symbolRegistry.register(coin.getSymbol());
+                if (id >= 0) {
+                    coins[id] = coin;
+                    updateBoards(id);
+                }
+            }
+            publish(System.currentTimeMillis());
+        }
+        log.info("Loaded market snapshot metadata for {} coins", all.size());
+    }
+
+    /**
+     * 메타데이터가 있는 코인들을 기존 API 응답 형태로 (스냅샷이 비어 있으면 빈 리스트)
+     * - 게시 시점에 만들어 둔 불변 목록을 그대로 반환하므로 요청마다 Coin 을 새로 만들지 않음
+     */
+    public List<Coin> getAllCoins() {
+        return snapshot.coins();
+    }
+
+    private void publish(long now) {
+        int size = symbolRegistry.size();
+        snapshot = new MarketSnapshot(
+                ++version,
+                now,
+                size,
+                Arrays.copyOf(coins, size),
+                Arrays.copyOf(tradePrices, size),
+                Arrays.copyOf(changeRates, size),
+                Arrays.copyOf(accTradePrices24h, size),
+                Arrays.copyOf(highPrices, size),
+                Arrays.copyOf(lowPrices, size),
+                Arrays.copyOf(updatedAts, size));
+        lastPublishedAt = now;
+        dirty = false;
+
+        topTradePrice.refresh(snapshot);
+        topIncrease.refresh(snapshot);
+        topDecrease.refresh(snapshot);
+    }
+
+    /**
+     * 순위 갱신 - 실시간 값이 없으면 DB 값 사용, 메타데이터가 없는 심볼은 응답을 만들 수 없으므로 제외
+     */
+    private void updateBoards(int id) {
+        Coin coin = coins[id];
+        if (coin == null) {
+            tradePriceBoard.update(id, Double.NaN);
+            changeRateBoard.update(id, Double.NaN);
+            return;
+        }
+        double tradePrice24h = accTradePrices24h[id];
+        if (Double.isNaN(tradePrice24h) && coin.getTradePrice24h() != null) {
+            tradePrice24h = coin.getTradePrice24h();
+        }
+        double changeRate = changeRates[id];
+        if (Double.isNaN(changeRate) && coin.getChangeRate() != null) {
+            changeRate = coin.getChangeRate();
+        }
+        tradePriceBoard.update(id, tradePrice24h);
+        changeRateBoard.update(id, changeRate);
+    }
+
+    /**
+     * 순위에서 상위 K 개를 뽑아 내용이 바뀐 경우에만 새 뷰(새 버전) 게시
+     */
+    private class BoardPublisher {
+
+        private final String name;
+        private final Leaderboard board;
+        private final boolean fromTop;
+
+        private final int[] ids = new int[TOP_K];
+        private final int[] lastIds = new int[TOP_K];
+        private final double[] lastScores = new double[TOP_K];
+        private int lastCount = -1;
+        private long version = 0;
+
+        private volatile LeaderboardView view;
+
+        private BoardPublisher(String name, Leaderboard board, boolean fromTop) {
+            this.name = name;
+            this.board = board;
+            this.fromTop = fromTop;
+            this.view = LeaderboardView.empty(name);
+        }
+
+        private void refresh(MarketSnapshot current) {
+            int count = board.collect(fromTop, ids);
+            if (!changed(count)) {
+                return;
+            }
+
+            List<Coin> top = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                lastIds[i] = ids[i];
+                lastScores[i] = board.score(ids[i]);
+                top.add(current.toCoin(ids[i]));
+            }
+            lastCount = count;
+            version++;
+            view = new LeaderboardView(name, version,
+                    "\"" + name + "-" + etagPrefix + "-" + version + "\"", List.copyOf(top));
+        }
+
+        private boolean changed(int count) {
+            if (count != lastCount) {
+                return true;
+            }
+            for (int i = 0; i < count; i++) {
+                if (ids[i] != lastIds[i] || Double.compare(board.score(ids[i]), lastScores[i]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static double[] filledNaN() {
+        double[] values = new double[SymbolRegistry.MAX_SYMBOLS];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+}
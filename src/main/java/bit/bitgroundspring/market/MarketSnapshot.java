@@ -0,0 +1,134 @@
+package bit.bitgroundspring.market;
+
+import bit.bitgroundspring.entity.Coin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 특정 시점의 전체 시장 시세 (불변, 심볼 ID 로 인덱싱한 struct-of-arrays)
+ * - MarketDataService 가 작업 배열을 복사해서 만들어 한 번에 교체 게시
+ * - 읽는 쪽은 락 없이 같은 버전의 값들을 일관되게 조회
+ * - 값이 없는 칸은 NaN, 코인 메타데이터가 없는 칸은 null
+ * - 기존 API 응답용 Coin 목록도 게시 시점에 한 번만 만들어 두고 요청마다 그대로 공유
+ */
+public final class MarketSnapshot {
+
+    public static final MarketSnapshot EMPTY = new MarketSnapshot(0, 0, 0, new Coin[0],
+            new double[0], new double[0], new double[0], new double[0], new double[0], new long[0]);
+
+    private final long version;
+    private final long publishedAt;
+    private final int size;
+
+    private final Coin[] coins;              // 코인 메타데이터 (이름, 유의/주의 플래그 등)
+    private final double[] tradePrices;
+    private final double[] changeRates;
+    private final double[] accTradePrices24h;
+    private final double[] highPrices;
+    private final double[] lowPrices;
+    private final long[] updatedAts;
+
+    private final List<Coin> coinList;      // 메타데이터가 있는 심볼만, 심볼 ID 순 (불변)
+
+    MarketSnapshot(long version, long publishedAt, int size, Coin[] coins,
+                   double[] tradePrices, double[] changeRates, double[] accTradePrices24h,
+                   double[] highPrices, double[] lowPrices, long[] updatedAts) {
+        this.version = version;
+        this.publishedAt = publishedAt;
+        this.size = size;
+        this.coins = coins;
+        this.tradePrices = tradePrices;
+        this.changeRates = changeRates;
+        this.accTradePrices24h = accTradePrices24h;
+        this.highPrices = highPrices;
+        this.lowPrices = lowPrices;
+        this.updatedAts = updatedAts;
+        this.coinList = buildCoinList();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    /**
+     * 심볼 ID 범위 (0 ~ size - 1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 메타데이터가 있는 코인 전체를 기존 API 응답 형태로 (불변, 스냅샷 버전마다 한 번 생성)
+     */
+    public List<Coin> coins() {
+        return coinList;
+    }
+
+    public Coin coin(int symbolId) {
+        return coins[symbolId];
+    }
+
+    public double tradePrice(int symbolId) {
+        return tradePrices[symbolId];
+    }
+
+    public double changeRate(int symbolId) {
+        return changeRates[symbolId];
+    }
+
+    public double accTradePrice24h(int symbolId) {
+        return accTradePrices24h[symbolId];
+    }
+
+    public double highPrice(int symbolId) {
+        return highPrices[symbolId];
+    }
+
+    public double lowPrice(int symbolId) {
+        return lowPrices[symbolId];
+    }
+
+    public long updatedAt(int symbolId) {
+        return updatedAts[symbolId];
+    }
+
+    /**
+     * 기존 API 응답 형태(Coin) 로 변환 - 메타데이터에 실시간 거래대금/등락률을 덮어쓴 사본
+     */
+    public Coin toCoin(int symbolId) {
+        Coin coin = coins[symbolId];
+        if (coin == null) {
+            return null;
+        }
+        double accTradePrice = accTradePrices24h[symbolId];
+        double changeRate = changeRates[symbolId];
+        return Coin.builder()
+                .id(coin.getId())
+                .symbol(coin.getSymbol())
+                .koreanName(coin.getKoreanName())
+                .tradePrice24h(Double.isNaN(accTradePrice) ? coin.getTradePrice24h() : (Long) Math.round(accTradePrice))
+                .changeRate(Double.isNaN(changeRate) ? coin.getChangeRate() : (Float) (float) changeRate)
+                .isCaution(coin.getIsCaution())
+                .isWarning(coin.getIsWarning())
+                .isDeleted(coin.getIsDeleted())
+                .createdAt(coin.getCreatedAt())
+                .updatedAt(coin.getUpdatedAt())
+                .build();
+    }
+
+    private List<Coin> buildCoinList() {
+        List<Coin> result = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            Coin coin = toCoin(id);
+            if (coin != null) {
+                result.add(coin);
+            }
+        }
+        return List.copyOf(result);
+    }
+}
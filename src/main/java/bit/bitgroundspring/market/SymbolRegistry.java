@@ -0,0 +1,144 @@
+package bit.bitgroundspring.market;
+
+import bit.bitgroundspring.service.CoinService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 심볼 문자열 ↔ 정수 ID 매핑
+ * - 시세 데이터를 심볼 ID 로 인덱싱한 배열에 저장하기 위해 사용
+ * - 한 번 배정된 ID 는 바뀌지 않음 (상장 폐지된 심볼도 ID 유지)
+ * - 시세 디코더용으로 String 을 만들지 않고 바이트 구간으로 바로 조회하는 해시 테이블도 함께 유지
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SymbolRegistry {
+
+    public static final int MAX_SYMBOLS = 1024;
+    public static final int UNKNOWN = -1;
+
+    private final CoinService coinService;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> names = new AtomicReferenceArray<>(MAX_SYMBOLS);
+    private volatile int size = 0;
+
+    // 바이트 조회용 오픈 어드레싱 테이블 (값: 심볼 ID + 1, 0 은 빈 슬롯)
+    private static final int TABLE_SIZE = MAX_SYMBOLS * 2;
+    private final AtomicIntegerArray table = new AtomicIntegerArray(TABLE_SIZE);
+    private final AtomicReferenceArray<byte[]> nameBytes = new AtomicReferenceArray<>(MAX_SYMBOLS);
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void preassign() {
+        try {
+            for (String symbol : coinService.getActiveSymbols()) {
+                register(symbol);
+            }
+            log.info("Preassigned {} symbol ids", size);
+        } catch (Exception e) {
+            log.error("Failed to preassign symbol ids", e);
+        }
+    }
+
+    /**
+     * 심볼 ID 조회 (없으면 새로 배정), 용량 초과 시 UNKNOWN
+     */
+    public int register(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(symbol);
+            if (id != null) {
+                return id;
+            }
+            if (size >= MAX_SYMBOLS) {
+                log.warn("Symbol registry is full, ignoring symbol: {}", symbol);
+                return UNKNOWN;
+            }
+            int newId = size;
+            names.set(newId, symbol);
+            byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+            nameBytes.set(newId, bytes);
+            int slot = hash(bytes, 0, bytes.length) & (TABLE_SIZE - 1);
+            while (table.get(slot) != 0) {
+                slot = (slot + 1) & (TABLE_SIZE - 1);
+            }
+            table.set(slot, newId + 1);
+            ids.put(symbol, newId);
+            size = newId + 1;
+            return newId;
+        }
+    }
+
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * buffer 의 [offset, offset + length) 구간을 UTF-8 심볼로 보고 ID 조회 (할당 없음)
+     */
+    public int idOf(ByteBuffer buffer, int offset, int length) {
+        int slot = hash(buffer, offset, length) & (TABLE_SIZE - 1);
+        while (true) {
+            int entry = table.get(slot);
+            if (entry == 0) {
+                return UNKNOWN;
+            }
+            byte[] candidate = nameBytes.get(entry - 1);
+            if (candidate != null && matches(candidate, buffer, offset, length)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+    }
+
+    public String nameOf(int id) {
+        return id >= 0 && id < MAX_SYMBOLS ? names.get(id) : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean matches(byte[] candidate, ByteBuffer buffer, int offset, int length) {
+        if (candidate.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate[i] != buffer.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ bytes[offset + i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ buffer.get(offset + i)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,307 @@
+package bit.bitgroundspring.market;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 업비트 SIMPLE 포맷 티커 메시지 스캐너
+ * - ByteBuffer 를 직접 훑으면서 필요한 필드만 원시 타입으로 꺼냄 (byte[] 복사, String, JsonNode 생성 없음)
+ * - SIMPLE 포맷은 중첩 없는 단일 객체이므로 키 → 값 순서로만 읽고 나머지 값은 건너뜀
+ * - 심볼은 SymbolRegistry 의 바이트 조회로 정수 ID 로 변환 (처음 보는 심볼만 String 생성 후 등록)
+ * 상태가 없으므로 여러 스레드에서 동시에 사용해도 됨
+ */
+@Component
+@RequiredArgsConstructor
+public class TickerDecoder {
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // SIMPLE 포맷 키 (code, trade_price, signed_change_rate, acc_trade_price_24h, high_price, low_price, timestamp)
+    private static final byte[] KEY_CODE = ascii("cd");
+    private static final byte[] KEY_TRADE_PRICE = ascii("tp");
+    private static final byte[] KEY_SIGNED_CHANGE_RATE = ascii("scr");
+    private static final byte[] KEY_ACC_TRADE_PRICE_24H = ascii("atp24h");
+    private static final byte[] KEY_HIGH_PRICE = ascii("hp");
+    private static final byte[] KEY_LOW_PRICE = ascii("lp");
+    private static final byte[] KEY_TIMESTAMP = ascii("tms");
+
+    private final SymbolRegistry symbolRegistry;
+
+    /**
+     * buffer 의 position ~ limit 구간을 디코딩해 frame 에 채움 (buffer 의 position 은 바꾸지 않음)
+     * @return 심볼과 체결가를 모두 읽었으면 true
+     */
+    public boolean decode(ByteBuffer buffer, TickerFrame frame) {
+        frame.reset();
+        int pos = buffer.position();
+        int limit = buffer.limit();
+
+        pos = skipWhitespace(buffer, pos, limit);
+        if (pos >= limit || buffer.get(pos) != '{') {
+            return false;
+        }
+        pos++;
+
+        while (pos < limit) {
+            pos = skipWhitespace(buffer, pos, limit);
+            if (pos >= limit) {
+                return false;
+            }
+            byte b = buffer.get(pos);
+            if (b == ',') {
+                pos++;
+                continue;
+            }
+            if (b == '}') {
+                break;
+            }
+            if (b != '"') {
+                return false;
+            }
+
+            // 키 읽기 (SIMPLE 포맷 키는 escape 없는 짧은 ASCII)
+            int keyStart = pos + 1;
+            int keyEnd = indexOf(buffer, (byte) '"', keyStart, limit);
+            if (keyEnd < 0) {
+                return false;
+            }
+            pos = skipWhitespace(buffer, keyEnd + 1, limit);
+            if (pos >= limit || buffer.get(pos) != ':') {
+                return false;
+            }
+            pos = skipWhitespace(buffer, pos + 1, limit);
+            if (pos >= limit) {
+                return false;
+            }
+
+            pos = readValue(buffer, keyStart, keyEnd - keyStart, pos, limit, frame);
+            if (pos < 0) {
+                return false;
+            }
+        }
+        return frame.isValid();
+    }
+
+    /**
+     * 키에 해당하는 값을 frame 에 채우고 값 다음 위치를 반환 (관심 없는 키는 건너뜀)
+     */
+    private int readValue(ByteBuffer buffer, int keyStart, int keyLength, int pos, int limit, TickerFrame frame) {
+        if (isKey(buffer, keyStart, keyLength, KEY_CODE)) {
+            if (buffer.get(pos) != '"') {
+                return skipValue(buffer, pos, limit);
+            }
+            int valueStart = pos + 1;
+            int valueEnd = indexOf(buffer, (byte) '"', valueStart, limit);
+            if (valueEnd < 0) {
+                return -1;
+            }
+            frame.symbolId = resolveSymbol(buffer, valueStart, valueEnd - valueStart);
+            return valueEnd + 1;
+        }
+        if (buffer.get(pos) == '"') {
+            // 관심 필드는 모두 숫자이므로 문자열 값은 건너뜀
+            return skipValue(buffer, pos, limit);
+        }
+        int end = numberEnd(buffer, pos, limit);
+        if (isKey(buffer, keyStart, keyLength, KEY_TRADE_PRICE)) {
+            frame.tradePrice = parseDouble(buffer, pos, end);
+        } else if (isKey(buffer, keyStart, keyLength, KEY_SIGNED_CHANGE_RATE)) {
+            frame.changeRate = parseDouble(buffer, pos, end);
+        } else if (isKey(buffer, keyStart, keyLength, KEY_ACC_TRADE_PRICE_24H)) {
+            frame.accTradePrice24h = parseDouble(buffer, pos, end);
+        } else if (isKey(buffer, keyStart, keyLength, KEY_HIGH_PRICE)) {
+            frame.highPrice = parseDouble(buffer, pos, end);
+        } else if (isKey(buffer, keyStart, keyLength, KEY_LOW_PRICE)) {
+            frame.lowPrice = parseDouble(buffer, pos, end);
+        } else if (isKey(buffer, keyStart, keyLength, KEY_TIMESTAMP)) {
+            frame.timestamp = (long) parseDouble(buffer, pos, end);
+        }
+        return end;
+    }
+
+    private int resolveSymbol(ByteBuffer buffer, int offset, int length) {
+        int id = symbolRegistry.idOf(buffer, offset, length);
+        if (id != SymbolRegistry.UNKNOWN) {
+            return id;
+        }
+        // 처음 보는 심볼: 이때만 String 을 만들어 등록
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return symbolRegistry.register(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isKey(ByteBuffer buffer, int offset, int length, byte[] key) {
+        if (length != key.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(ByteBuffer buffer, int pos, int limit) {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte target, int pos, int limit) {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == target) {
+                return pos;
+            }
+            if (b == '\\') {
+                pos++;
+            }
+            pos++;
+        }
+        return -1;
+    }
+
+    /**
+     * 문자열 / 숫자 / true / false / null 값을 건너뜀 (SIMPLE 포맷에는 중첩 객체가 없음)
+     */
+    private static int skipValue(ByteBuffer buffer, int pos, int limit) {
+        if (buffer.get(pos) == '"') {
+            int end = indexOf(buffer, (byte) '"', pos + 1, limit);
+            return end < 0 ? -1 : end + 1;
+        }
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == ',' || b == '}') {
+                return pos;
+            }
+            if (b == '{' || b == '[') {
+                return -1;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int numberEnd(ByteBuffer buffer, int pos, int limit) {
+        while (pos < limit) {
+            byte b = buffer.get(pos);
+            if (b == ',' || b == '}' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * JSON 숫자를 할당 없이 double 로 변환
+     * - 유효 숫자 15자리 남짓 / 10^22 이내는 가수(long) 를 10 의 거듭제곱으로 한 번 나누거나 곱해서 계산
+     * - 그 밖의 경우(아주 긴 숫자 등)에만 Double.parseDouble 로 처리
+     * - null 등 숫자가 아니면 NaN
+     */
+    static double parseDouble(ByteBuffer buffer, int start, int end) {
+        int pos = start;
+        if (pos >= end) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        byte b = buffer.get(pos);
+        if (b == '-') {
+            negative = true;
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean truncated = false;
+
+        while (pos < end && (b = buffer.get(pos)) >= '0' && b <= '9') {
+            anyDigit = true;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                truncated = true;
+                exponent++;
+            }
+            pos++;
+        }
+        if (pos < end && buffer.get(pos) == '.') {
+            pos++;
+            while (pos < end && (b = buffer.get(pos)) >= '0' && b <= '9') {
+                anyDigit = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+                pos++;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        if (pos < end && ((b = buffer.get(pos)) == 'e' || b == 'E')) {
+            pos++;
+            boolean expNegative = false;
+            if (pos < end && ((b = buffer.get(pos)) == '-' || b == '+')) {
+                expNegative = b == '-';
+                pos++;
+            }
+            int exp = 0;
+            while (pos < end && (b = buffer.get(pos)) >= '0' && b <= '9') {
+                exp = Math.min(exp * 10 + (b - '0'), 10_000);
+                pos++;
+            }
+            exponent += expNegative ? -exp : exp;
+        }
+        if (pos != end) {
+            return Double.NaN;
+        }
+
+        if (truncated || mantissa >= (1L << 53) || Math.abs(exponent) >= POW10.length) {
+            return slowParse(buffer, start, end);
+        }
+        // 가수와 10^|exponent| 가 모두 double 로 정확히 표현되므로 연산 한 번의 반올림만 발생
+        double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+        return negative ? -value : value;
+    }
+
+    private static double slowParse(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        try {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static byte[] ascii(String key) {
+        return key.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,30 @@
+package bit.bitgroundspring.market;
+
+/**
+ * 디코딩된 티커 메시지 한 건 (수신 스레드에서 재사용하는 가변 객체)
+ * - 메시지마다 새로 만들지 않고 reset 후 다시 채움
+ */
+public class TickerFrame {
+
+    public int symbolId = SymbolRegistry.UNKNOWN;
+    public double tradePrice = Double.NaN;        // tp
+    public double changeRate = Double.NaN;        // scr (부호 있는 전일 대비 등락률)
+    public double accTradePrice24h = Double.NaN;  // atp24h
+    public double highPrice = Double.NaN;         // hp
+    public double lowPrice = Double.NaN;          // lp
+    public long timestamp;                        // tms
+
+    public void reset() {
+        symbolId = SymbolRegistry.UNKNOWN;
+        tradePrice = Double.NaN;
+        changeRate = Double.NaN;
+        accTradePrice24h = Double.NaN;
+        highPrice = Double.NaN;
+        lowPrice = Double.NaN;
+        timestamp = 0;
+    }
+
+    public boolean isValid() {
+        return symbolId >= 0 && tradePrice > 0;
+    }
+}
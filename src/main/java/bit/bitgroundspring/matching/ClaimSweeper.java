@@ -0,0 +1,101 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.entity.Status;
+import bit.bitgroundspring.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+/**
+ * 오래된 체결 선점 되돌리기
+ * - 선점되면 주문이 오더북 / Redis 미러에서 빠지므로, 실행 메시지를 꺼낸 소비자가 죽으면 주문은 PENDING 인 채로 아무 데도 없음
+ * - order:claims 에서 claim-stale-seconds 보다 오래된 선점을 찾아 아직 PENDING 이면 오더북 / 미러에 다시 넣고 선점 표시 해제
+ * - 여러 노드가 동시에 실행해도 ZREM 에 성공한 노드만 처리
+ * - 늦게 도착한 실행 메시지와 겹쳐도 체결은 DB 의 PENDING 상태 확인으로 한 번만 일어남
+ * - dead-letter 로 옮겨진 주문은 되돌리지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimSweeper {
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final OrderRepository orderRepository;
+    private final OrderBookRegistry orderBookRegistry;
+    private final OrderMirror orderMirror;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 큐 대기 + 실행에 걸리는 시간보다 충분히 길게 (이보다 오래된 선점은 실행 메시지가 유실된 것으로 봄)
+    @Value("${matching.claim-stale-seconds:120}")
+    private long claimStaleSeconds;
+
+    private Counter rearmedCounter;
+
+    @PostConstruct
+    private void init() {
+        rearmedCounter = Counter.builder("matching.claim.rearmed")
+                .description("Pending orders put back into the order book after their execution claim went stale")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${matching.claim-sweep-interval-ms:30000}")
+    public void sweep() {
+        long staleBefore = System.currentTimeMillis() - claimStaleSeconds * 1000;
+        Set<String> stale = stringRedisTemplate.opsForZSet()
+                .rangeByScore(OrderMirror.CLAIMS_KEY, Double.NEGATIVE_INFINITY, staleBefore, 0, SWEEP_BATCH_SIZE);
+        if (stale == null || stale.isEmpty()) {
+            return;
+        }
+
+        int rearmed = 0;
+        for (String member : stale) {
+            Long removed = stringRedisTemplate.opsForZSet().remove(OrderMirror.CLAIMS_KEY, member);
+            if (removed == null || removed == 0) {
+                continue; // 다른 노드가 처리 중
+            }
+            if (rearm(Integer.valueOf(member))) {
+                rearmed++;
+            }
+        }
+        if (rearmed > 0) {
+            rearmedCounter.increment(rearmed);
+            log.warn("Re-armed {} pending orders whose execution claim went stale", rearmed);
+        }
+    }
+
+    private boolean rearm(Integer orderId) {
+        if (orderMirror.isDeadLettered(orderId)) {
+            orderMirror.releaseClaim(orderId);
+            return false;
+        }
+        Boolean restored;
+        try {
+            restored = transactionTemplate.execute(status ->
+                    orderRepository.findByIdAndStatus(orderId, Status.PENDING).map(order -> {
+                        String symbol = order.getCoin().getSymbol();
+                        orderBookRegistry.add(orderId, symbol, order.getOrderType(), order.getReservePrice());
+                        orderMirror.save(order, symbol);
+                        return true;
+                    }).orElse(false));
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도하도록 선점 목록에 되돌려 둠
+            log.error("Failed to re-arm order {} after a stale claim", orderId, e);
+            stringRedisTemplate.opsForZSet().add(OrderMirror.CLAIMS_KEY, String.valueOf(orderId), 0);
+            return false;
+        }
+        orderMirror.releaseClaim(orderId);
+        return Boolean.TRUE.equals(restored);
+    }
+}
@@ -0,0 +1,142 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.util.BoundedRingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 심볼 해시 기준으로 샤드를 나누고, 샤드마다 단일 스레드가 시세를 순서대로 처리하는 체결 파이프라인
+ * - 같은 심볼은 항상 같은 샤드(스레드)에서 처리되므로 락 없이 심볼 단위 순서 보장
+ * - 샤드가 밀리면 심볼별 최신 가격만 남기고 중간 시세는 합쳐서 처리 (소켓 수신 스레드를 막지 않음)
+ */
+@Slf4j
+public class MatchingPipeline {
+
+    @FunctionalInterface
+    public interface TickHandler {
+        void onTick(String symbol, double price);
+    }
+
+    private final Shard[] shards;
+    private final TickHandler handler;
+
+    private final AtomicLong submittedTicks = new AtomicLong();
+    private final AtomicLong coalescedTicks = new AtomicLong();
+    private final AtomicLong droppedTicks = new AtomicLong();
+
+    public MatchingPipeline(int shardCount, int ringCapacity, TickHandler handler) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.handler = handler;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, ringCapacity);
+        }
+    }
+
+    public void start() {
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+        log.info("Matching pipeline started with {} shards", shards.length);
+    }
+
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 시세 제출 - 호출 스레드(웹소켓 수신 스레드)를 절대 막지 않음
+     */
+    public void submit(String symbol, double price) {
+        submittedTicks.incrementAndGet();
+        Shard shard = shards[Math.floorMod(symbol.hashCode(), shards.length)];
+
+        // 이미 처리 대기 중인 심볼이면 가격만 덮어쓰고 끝 (최신 가격으로 합침)
+        if (shard.latestPrices.put(symbol, price) != null) {
+            coalescedTicks.incrementAndGet();
+            return;
+        }
+
+        if (shard.ring.offer(symbol)) {
+            LockSupport.unpark(shard.thread);
+        } else {
+            // 링이 가득 찬 경우: 이번 시세는 버리고 다음 시세에서 다시 처리
+            shard.latestPrices.remove(symbol);
+            droppedTicks.incrementAndGet();
+        }
+    }
+
+    public long getSubmittedTicks() {
+        return submittedTicks.get();
+    }
+
+    public long getCoalescedTicks() {
+        return coalescedTicks.get();
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks.get();
+    }
+
+    public int getBacklog() {
+        int backlog = 0;
+        for (Shard shard : shards) {
+            backlog += shard.ring.size();
+        }
+        return backlog;
+    }
+
+    private class Shard implements Runnable {
+
+        private final BoundedRingBuffer<String> ring;
+        private final Map<String, Double> latestPrices = new ConcurrentHashMap<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Shard(int index, int ringCapacity) {
+            this.ring = new BoundedRingBuffer<>(ringCapacity);
+            this.thread = new Thread(this, "Matching-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                String symbol = ring.poll();
+                if (symbol == null) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(10));
+                    continue;
+                }
+
+                Double price = latestPrices.remove(symbol);
+                if (price == null) {
+                    continue;
+                }
+
+                try {
+                    handler.onTick(symbol, price);
+                } catch (Exception e) {
+                    log.error("Error processing tick for symbol: {}", symbol, e);
+                }
+            }
+        }
+    }
+}
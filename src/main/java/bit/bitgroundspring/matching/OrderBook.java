@@ -0,0 +1,114 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.entity.OrderType;
+
+import java.util.*;
+
+/**
+ * 심볼 하나에 대한 예약 주문 오더북 (JVM 메모리)
+ * - 매수 예약: 현재가가 감시 가격 이하로 내려오면 체결 → 감시 가격이 높은 주문부터 체결 대상
+ * - 매도 예약: 현재가가 감시 가격 이상으로 올라가면 체결 → 감시 가격이 낮은 주문부터 체결 대상
+ * 가격 레벨은 TreeMap 으로 정렬해 두므로 체결 대상 조회는 O(log n + 체결 건수)
+ */
+public class OrderBook {
+
+    private final String symbol;
+
+    // 감시 가격 → 주문 ID (같은 가격 내에서는 등록 순서 유지)
+    private final NavigableMap<Double, Set<Integer>> buyLevels = new TreeMap<>();
+    private final NavigableMap<Double, Set<Integer>> sellLevels = new TreeMap<>();
+
+    // 주문 ID → 감시 가격 (취소 시 가격 레벨을 바로 찾기 위함)
+    private final Map<Integer, Double> buyIndex = new HashMap<>();
+    private final Map<Integer, Double> sellIndex = new HashMap<>();
+
+    public OrderBook(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public synchronized void add(int orderId, OrderType orderType, double reservePrice) {
+        Map<Integer, Double> index = indexOf(orderType);
+        if (index.containsKey(orderId)) {
+            return;
+        }
+        index.put(orderId, reservePrice);
+        levelsOf(orderType)
+                .computeIfAbsent(reservePrice, k -> new LinkedHashSet<>())
+                .add(orderId);
+    }
+
+    public synchronized boolean remove(int orderId) {
+        return removeFrom(OrderType.BUY, orderId) || removeFrom(OrderType.SELL, orderId);
+    }
+
+    /**
+     * 현재가 기준으로 체결 조건을 만족한 주문들을 오더북에서 꺼내 반환
+     */
+    public synchronized List<Integer> pollCrossing(OrderType orderType, double currentPrice) {
+        NavigableMap<Double, Set<Integer>> levels = levelsOf(orderType);
+        if (levels.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 가장 유리한 가격 레벨만 먼저 확인해서 체결 대상이 없으면 바로 반환
+        NavigableMap<Double, Set<Integer>> crossing;
+        if (orderType == OrderType.BUY) {
+            if (levels.lastKey() < currentPrice) {
+                return Collections.emptyList();
+            }
+            crossing = levels.tailMap(currentPrice, true).descendingMap();
+        } else {
+            if (levels.firstKey() > currentPrice) {
+                return Collections.emptyList();
+            }
+            crossing = levels.headMap(currentPrice, true);
+        }
+
+        Map<Integer, Double> index = indexOf(orderType);
+        List<Integer> matched = new ArrayList<>();
+        for (Set<Integer> orderIds : crossing.values()) {
+            for (Integer orderId : orderIds) {
+                matched.add(orderId);
+                index.remove(orderId);
+            }
+        }
+        crossing.clear();
+        return matched;
+    }
+
+    public synchronized int size() {
+        return buyIndex.size() + sellIndex.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return buyIndex.isEmpty() && sellIndex.isEmpty();
+    }
+
+    private boolean removeFrom(OrderType orderType, int orderId) {
+        Double price = indexOf(orderType).remove(orderId);
+        if (price == null) {
+            return false;
+        }
+        NavigableMap<Double, Set<Integer>> levels = levelsOf(orderType);
+        Set<Integer> orderIds = levels.get(price);
+        if (orderIds != null) {
+            orderIds.remove(orderId);
+            if (orderIds.isEmpty()) {
+                levels.remove(price);
+            }
+        }
+        return true;
+    }
+
+    private NavigableMap<Double, Set<Integer>> levelsOf(OrderType orderType) {
+        return orderType == OrderType.BUY ? buyLevels : sellLevels;
+    }
+
+    private Map<Integer, Double> indexOf(OrderType orderType) {
+        return orderType == OrderType.BUY ? buyIndex : sellIndex;
+    }
+}
@@ -0,0 +1,136 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.dto.projection.PendingOrderEntryProjection;
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 심볼별 인메모리 오더북 관리
+ * - 예약 주문 생성/취소 시 OrderService 가 동기화
+ * - 시세 수신 시 PriceUpdateService 가 네트워크 I/O 없이 체결 대상 조회
+ * - Redis 의 buy_orders / sell_orders 는 내구성 보장을 위한 미러로만 사용
+ * - 변경(add / remove / pollCrossing / clear) 은 읽기 락, 재구성은 쓰기 락으로 실행
+ *   (재구성 중 커밋된 주문의 등록 / 취소는 교체가 끝난 뒤 반영되어 사라지지 않음)
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderBookRegistry {
+
+    private final OrderRepository orderRepository;
+    private final OrderMirror orderMirror;
+
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    // 주문 ID → 소속 오더북 (취소 시 심볼 조회 없이 바로 제거)
+    private final Map<Integer, OrderBook> orderIndex = new ConcurrentHashMap<>();
+
+    // 개별 변경끼리는 동시에 실행 (오더북 단위 동기화), 재구성만 배타적으로 실행
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild order books from database", e);
+        }
+    }
+
+    /**
+     * DB 의 PENDING 예약 주문으로 오더북 전체를 다시 구성
+     * - 조회부터 교체까지 쓰기 락을 잡으므로 그 사이의 등록 / 취소 / 체결 조회는 교체 이후에 실행됨
+     * - 체결이 계속 실패해 dead-letter 로 옮겨진 주문은 제외
+     */
+    public void rebuild() {
+        Set<Integer> deadLettered = orderMirror.deadLetteredOrderIds();
+        rebuildLock.writeLock().lock();
+        try {
+            List<PendingOrderEntryProjection> entries = orderRepository.findPendingOrderEntriesForCurrentSeason();
+
+            books.clear();
+            orderIndex.clear();
+            for (PendingOrderEntryProjection entry : entries) {
+                if (entry.getReservePrice() == null || deadLettered.contains(entry.getId())) {
+                    continue;
+                }
+                addInternal(entry.getId(), entry.getSymbol(), entry.getOrderType(), entry.getReservePrice());
+            }
+            log.info("Rebuilt order books: {} orders across {} symbols", orderIndex.size(), books.size());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public void add(Integer orderId, String symbol, OrderType orderType, double reservePrice) {
+        rebuildLock.readLock().lock();
+        try {
+            addInternal(orderId, symbol, orderType, reservePrice);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public boolean remove(Integer orderId) {
+        rebuildLock.readLock().lock();
+        try {
+            OrderBook book = orderIndex.remove(orderId);
+            return book != null && book.remove(orderId);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 체결 조건을 만족한 주문을 오더북에서 꺼내 반환 (네트워크 I/O 없음)
+     */
+    public List<Integer> pollCrossing(String symbol, OrderType orderType, double currentPrice) {
+        rebuildLock.readLock().lock();
+        try {
+            OrderBook book = books.get(symbol);
+            if (book == null) {
+                return Collections.emptyList();
+            }
+            List<Integer> matched = book.pollCrossing(orderType, currentPrice);
+            for (Integer orderId : matched) {
+                orderIndex.remove(orderId);
+            }
+            return matched;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        rebuildLock.writeLock().lock();
+        try {
+            books.clear();
+            orderIndex.clear();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return orderIndex.size();
+    }
+
+    private void addInternal(Integer orderId, String symbol, OrderType orderType, double reservePrice) {
+        OrderBook book = books.computeIfAbsent(symbol, OrderBook::new);
+        book.add(orderId, orderType, reservePrice);
+        orderIndex.put(orderId, book);
+    }
+}
@@ -0,0 +1,204 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.dto.OrderRedisDto;
+import bit.bitgroundspring.entity.Order;
+import bit.bitgroundspring.entity.OrderType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Redis 예약 주문 미러 (order:{id}, buy_orders:{symbol}, sell_orders:{symbol}) 와 체결 선점 표시(order:claim:{id}) 관리
+ * - 미러 키 형식은 PriceUpdateService 의 선점 Lua 스크립트와 같아야 함
+ * - 선점된 주문 ID 는 order:claims ZSET (score = 선점 시각) 에도 기록 → 오래된 선점은 ClaimSweeper 가 되돌림
+ * - 체결 실패 횟수는 order:execution:failures 해시에 세고, 한도를 넘은 주문은 order:dead-letter 에 옮겨
+ *   오더북 / 미러로 되돌리지 않음 (운영자가 확인 후 취소하거나 목록에서 지워 다시 체결 대상으로 만듦)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderMirror {
+
+    public static final String CLAIM_KEY_PREFIX = "order:claim:";
+    public static final String CLAIMS_KEY = "order:claims";
+    public static final String FAILURES_KEY = "order:execution:failures";
+    public static final String DEAD_LETTER_KEY = "order:dead-letter";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public static String bookKey(OrderType orderType, String symbol) {
+        return (orderType == OrderType.BUY ? "buy_orders:" : "sell_orders:") + symbol;
+    }
+
+    /**
+     * 예약 주문을 미러에 기록 (실패해도 예외를 던지지 않음)
+     */
+    public void save(Order order, String symbol) {
+        try {
+            String orderId = String.valueOf(order.getId());
+
+            OrderRedisDto orderDto = OrderRedisDto.builder()
+                    .id(order.getId())
+                    .userId(order.getUser().getId())
+                    .symbolId(order.getCoin().getId())
+                    .symbol(symbol)
+                    .orderType(order.getOrderType())
+                    .amount(order.getAmount())
+                    .reservePrice(order.getReservePrice())
+                    .status(order.getStatus())
+                    .createdAt(order.getCreatedAt())
+                    .build();
+
+            // 수정: 파이프라인 사용으로 성능 개선
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForValue().set("order:" + orderId, orderDto, Duration.ofDays(30));
+
+                    String orderTypeKey = bookKey(order.getOrderType(), symbol);
+                    operations.opsForZSet().add(orderTypeKey, orderId, order.getReservePrice());
+                    operations.expire(orderTypeKey, Duration.ofDays(30));
+
+                    return null;
+                }
+            });
+
+        } catch (Exception e) {
+            log.error("Failed to save order to Redis: {}", order.getId(), e);
+            // 수정: 예외 발생해도 서비스 계속 진행
+        }
+    }
+
+    /**
+     * 체결 선점 표시 해제 (체결 커밋 후, 또는 체결 실패로 주문을 되돌릴 때)
+     */
+    public void releaseClaim(Integer orderId) {
+        try {
+            String id = String.valueOf(orderId);
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.delete(CLAIM_KEY_PREFIX + id);
+                    operations.opsForZSet().remove(CLAIMS_KEY, id);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to release execution claim for order {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * 체결 완료 (또는 이미 PENDING 이 아님) - 선점 표시와 실패 횟수 정리
+     */
+    public void completeExecution(Integer orderId) {
+        try {
+            String id = String.valueOf(orderId);
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.delete(CLAIM_KEY_PREFIX + id);
+                    operations.opsForZSet().remove(CLAIMS_KEY, id);
+                    operations.opsForHash().delete(FAILURES_KEY, id);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to clear execution state for order {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * 체결 실패 횟수 증가 후 반환 (Redis 실패 시 0 - 한도 판단 없이 되돌리기만 함)
+     */
+    public long recordFailure(Integer orderId) {
+        try {
+            Long attempts = stringRedisTemplate.opsForHash().increment(FAILURES_KEY, String.valueOf(orderId), 1);
+            return attempts == null ? 0 : attempts;
+        } catch (Exception e) {
+            log.warn("Failed to record execution failure for order {}: {}", orderId, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 계속 실패하는 주문을 dead-letter 로 옮김 (오더북 / 미러로 되돌리지 않고 선점 표시만 정리)
+     */
+    public void deadLetter(Integer orderId) {
+        try {
+            String id = String.valueOf(orderId);
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForSet().add(DEAD_LETTER_KEY, id);
+                    operations.opsForHash().delete(FAILURES_KEY, id);
+                    operations.delete(CLAIM_KEY_PREFIX + id);
+                    operations.opsForZSet().remove(CLAIMS_KEY, id);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to dead-letter order {}", orderId, e);
+        }
+    }
+
+    public boolean isDeadLettered(Integer orderId) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(DEAD_LETTER_KEY, String.valueOf(orderId)));
+        } catch (Exception e) {
+            log.warn("Failed to check dead-letter for order {}: {}", orderId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * dead-letter 주문 ID 전체 (오더북 재구성 시 제외용, 조회 실패 시 빈 집합)
+     */
+    public Set<Integer> deadLetteredOrderIds() {
+        Set<Integer> orderIds = new HashSet<>();
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(DEAD_LETTER_KEY);
+            if (members != null) {
+                for (String member : members) {
+                    orderIds.add(Integer.valueOf(member));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load dead-lettered orders: {}", e.getMessage());
+        }
+        return orderIds;
+    }
+
+    /**
+     * 취소된 주문의 실패 횟수 / dead-letter 기록 정리
+     */
+    public void forget(Integer orderId) {
+        try {
+            String id = String.valueOf(orderId);
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForHash().delete(FAILURES_KEY, id);
+                    operations.opsForSet().remove(DEAD_LETTER_KEY, id);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to clear execution failures for order {}: {}", orderId, e.getMessage());
+        }
+    }
+}
@@ -3,20 +3,44 @@ package bit.bitgroundspring.repository;
 import bit.bitgroundspring.dto.projection.NotificationProjection;
 import bit.bitgroundspring.entity.Notification;
 import io.lettuce.core.dynamic.annotation.Param;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
     
+    // 사용자 한 명의 최신 알림 (user_id, created_at 인덱스 범위 스캔)
+    @Query("SELECT n " +
+            "FROM Notification n " +
+            "WHERE n.user.id = :userId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationProjection> findLatestByUserId(@Param("userId") Integer userId, Pageable pageable);
+    
+    // 키셋 페이지네이션: (createdAt, id) 커서보다 오래된 알림
     @Query("SELECT n " +
             "FROM Notification n " +
-            "WHERE n.user.id = :userId OR n.user.id = 1 " +
-            "ORDER BY n.createdAt DESC")
-    Page<NotificationProjection> findNotificationsByUserIdOrAll(@Param("userId") Integer userId, Pageable pageable);
+            "WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationProjection> findByUserIdBefore(@Param("userId") Integer userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Integer id,
+                                                    Pageable pageable);
+    
+    long countByUser_Id(Integer userId);
+    
+    // 시스템 알림 ID 목록 (안 읽은 시스템 알림 계산용, 시스템 알림은 수가 적음)
+    @Query("SELECT n.id FROM Notification n WHERE n.user.id = :userId")
+    List<Integer> findIdsByUserId(@Param("userId") Integer userId);
+    
+    // 사용자의 마지막 알림 ID (없으면 0)
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n WHERE n.user.id = :userId")
+    Integer findMaxIdByUserId(@Param("userId") Integer userId);
     
     Integer countByIsReadFalseAndUser_Id(Integer userId);
     
@@ -1,19 +1,29 @@
 package bit.bitgroundspring.repository;
 
 import bit.bitgroundspring.dto.TradeDto;
+import bit.bitgroundspring.dto.projection.OrderOwnerProjection;
 import bit.bitgroundspring.dto.projection.OrderProjection;
+import bit.bitgroundspring.dto.projection.PendingOrderEntryProjection;
+import bit.bitgroundspring.dto.projection.PendingOrderKeyProjection;
+import bit.bitgroundspring.dto.projection.RecentTradeProjection;
 import bit.bitgroundspring.entity.Order;
 import bit.bitgroundspring.entity.Season;
 import bit.bitgroundspring.entity.Status;
 import bit.bitgroundspring.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
@@ -47,11 +57,29 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
                     "  AND o.status       = :status " +
                     "ORDER BY o.createdAt DESC"
     )
-    List<TradeDto> findTop30ByCoinSymbolAndStatus(
+    List<TradeDto> findRecentTrades(
             @Param("symbol") String symbol,
-            @Param("status") Status status
+            @Param("status") Status status,
+            Pageable pageable
+    );
+
+    // 최근 체결 링 버퍼 초기화용 (주문 ID 포함 - 커밋 후 이벤트와 겹친 체결 중복 제거)
+    @Query("SELECT o.id AS id, c.symbol AS symbol, c.koreanName AS koreanName, " +
+            "o.orderType AS orderType, o.amount AS amount, o.tradePrice AS tradePrice, " +
+            "o.createdAt AS createdAt, o.updatedAt AS updatedAt " +
+            "FROM Order o JOIN o.coin c " +
+            "WHERE c.symbol = :symbol AND o.status = :status " +
+            "ORDER BY o.createdAt DESC")
+    List<RecentTradeProjection> findRecentTradeEntries(
+            @Param("symbol") String symbol,
+            @Param("status") Status status,
+            Pageable pageable
     );
 
+    // 체결 배치를 사용자 레인별로 나누기 위한 주문 → 사용자 조회
+    @Query("SELECT o.id AS id, o.user.id AS userId FROM Order o WHERE o.id IN :ids")
+    List<OrderOwnerProjection> findOwnersByIdIn(@Param("ids") Collection<Integer> ids);
+
     @Query("""
         SELECT new bit.bitgroundspring.dto.TradeDto(
             o.coin.symbol,
@@ -80,21 +108,6 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
     // 예약 매수 전용
     Optional<Order> findByIdAndStatus(Integer id, Status status);
     
-    // 거래 가능 자산 조회 위한 메서드
-    @Query("""
-        SELECT CAST(ROUND(SUM(o.reservePrice * o.amount)) AS integer)
-        FROM Order o
-        WHERE o.user.id = :userId
-          AND o.status = 'PENDING'
-          AND o.orderType = 'BUY'
-          AND o.season = (
-              SELECT s
-              FROM Season s
-              WHERE s.status = 'PENDING'
-          )
-    """)
-    Integer calculateTotalReservePriceForBuyOrdersByUserId(@Param("userId") Integer userId);
-
     //미체결
     @Query("SELECT o FROM Order o " +
             "JOIN FETCH o.coin " +
@@ -103,7 +116,23 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
                                                  @Param("seasonId") Integer seasonId);
 
 
-    // pending 상태 주문 조회
-    List<Order> findByStatus(Status status);
+    // 시즌 전환 시 Redis 미러 정리용 (엔티티 대신 키에 필요한 값만, MySQL 행 단위 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT o.id AS id, c.symbol AS symbol, o.orderType AS orderType FROM Order o JOIN o.coin c WHERE o.status = :status")
+    Stream<PendingOrderKeyProjection> streamOrderKeysByStatus(@Param("status") Status status);
+
+    // 인메모리 오더북 / 예약 장부 재구성용 (현재 시즌의 예약 주문만)
+    @Query("""
+        SELECT o.id AS id, o.user.id AS userId, c.id AS coinId, c.symbol AS symbol,
+               o.orderType AS orderType, o.reservePrice AS reservePrice, o.amount AS amount
+        FROM Order o JOIN o.coin c
+        WHERE o.status = 'PENDING'
+          AND o.season = (
+              SELECT s
+              FROM Season s
+              WHERE s.status = 'PENDING'
+          )
+    """)
+    List<PendingOrderEntryProjection> findPendingOrderEntriesForCurrentSeason();
 
 }
@@ -1,6 +1,7 @@
 package bit.bitgroundspring.repository;
 
 import bit.bitgroundspring.dto.projection.UserAssetProjection;
+import bit.bitgroundspring.dto.projection.UserHoldingProjection;
 import bit.bitgroundspring.entity.Coin;
 import bit.bitgroundspring.entity.User;
 import bit.bitgroundspring.entity.UserAsset;
@@ -8,6 +9,7 @@ import io.lettuce.core.dynamic.annotation.Param;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -24,33 +26,44 @@ public interface UserAssetRepository extends JpaRepository<UserAsset, Integer> {
             @Param("coin") Coin coin
     );
     
-    // 유저의 매도 가능 자산 조회
+    // 매수 수량 반영 - MySQL 은 ON DUPLICATE KEY UPDATE 를 왼쪽부터 적용하므로 avg_price 를 amount 보다 먼저 계산
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    INSERT INTO user_assets (user_id, symbol_id, amount, avg_price, created_at, updated_at)
+    VALUES (:userId, :coinId, :qty, FLOOR(:notional / :qty * 1e10) / 1e10, NOW(6), NOW(6))
+    ON DUPLICATE KEY UPDATE
+        avg_price = FLOOR((amount * avg_price + :notional) / (amount + :qty) * 1e10) / 1e10,
+        amount = amount + :qty
+    """, nativeQuery = true)
+    int addHolding(@Param("userId") Integer userId, @Param("coinId") Integer coinId,
+                   @Param("qty") double qty, @Param("notional") double notional);
+
+    // 보유 수량이 충분할 때만 차감 (영향 행 0 이면 보유 수량 부족)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+    UPDATE user_assets SET amount = amount - :qty
+    WHERE user_id = :userId AND symbol_id = :coinId AND amount + :eps >= :qty
+    """, nativeQuery = true)
+    int subtractHolding(@Param("userId") Integer userId, @Param("coinId") Integer coinId,
+                        @Param("qty") double qty, @Param("eps") double eps);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_assets WHERE user_id = :userId AND symbol_id = :coinId AND amount < :eps",
+            nativeQuery = true)
+    int deleteEmptyHolding(@Param("userId") Integer userId, @Param("coinId") Integer coinId,
+                           @Param("eps") double eps);
+
+    // 보유 자산 (매도 가능 수량은 예약 장부의 매도 예약 수량을 빼서 계산)
     @Query("""
     SELECT
+        ua.coin.id as coinId,
         ua.coin.symbol as symbol,
-        CASE
-            WHEN COALESCE(SUM(o.amount), 0.0) <= ua.amount
-            THEN ua.amount - COALESCE(SUM(o.amount), 0.0)
-            ELSE 0.0
-        END as amount,
+        ua.amount as amount,
         ua.avgPrice as avgPrice
     FROM UserAsset ua
-    LEFT JOIN Order o ON o.coin.id = ua.coin.id
-        AND o.user.id = ua.user.id
-        AND o.orderType = 'SELL'
-        AND o.status = 'PENDING'
-        AND o.season.id = (
-            SELECT s.id FROM Season s WHERE s.status = 'PENDING'
-        )
     WHERE ua.user.id = :userId
-    GROUP BY ua.coin.id, ua.coin.symbol, ua.amount, ua.avgPrice
-    HAVING CASE
-        WHEN COALESCE(SUM(o.amount), 0.0) <= ua.amount
-        THEN ua.amount - COALESCE(SUM(o.amount), 0.0)
-        ELSE 0.0
-    END > 0
     """)
-    List<UserAssetProjection> findUserAssetsWithAvailableAmount(@Param("userId") Integer userId);
+    List<UserHoldingProjection> findHoldingsByUserId(@Param("userId") Integer userId);
 
     // 전체 보유 자산 조회용 projection 쿼리
     @Query("""
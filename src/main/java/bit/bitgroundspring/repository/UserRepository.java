@@ -5,6 +5,7 @@ import io.lettuce.core.dynamic.annotation.Param;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
@@ -15,4 +16,14 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT u FROM User u WHERE u.id = :id")
     Optional<User> findByIdWithPessimisticLock(@Param("id") Integer id);
+
+    // 잔액이 충분할 때만 차감 (영향 행 0 이면 잔액 부족 또는 사용자 없음)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET cash = cash - :amount WHERE id = :id AND cash >= :amount", nativeQuery = true)
+    int withdrawCash(@Param("id") Integer id, @Param("amount") int amount);
+
+    // 현금 상대 증감 (delta 가 음수면 차감)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE users SET cash = cash + :delta WHERE id = :id", nativeQuery = true)
+    int adjustCash(@Param("id") Integer id, @Param("delta") int delta);
 }
@@ -4,6 +4,7 @@ import bit.bitgroundspring.entity.User;
 import bit.bitgroundspring.repository.UserRepository;
 import bit.bitgroundspring.util.InitialCashUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -29,7 +30,8 @@ import java.util.Optional;
 public class CustomOidcUserService extends OidcUserService {
     private final UserRepository userRepository;
     private final InitialCashUtil initialCashUtil;
-    private final RestTemplate restTemplate;
+    @Qualifier("naverRestTemplate")
+    private final RestTemplate naverRestTemplate;
     
     @Override
     public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
@@ -99,8 +101,8 @@ public class CustomOidcUserService extends OidcUserService {
         headers.add(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken.getTokenValue());
         
         HttpEntity<String> entity = new HttpEntity<>(headers);
-        ResponseEntity<Map> response = restTemplate.exchange(
-                "https://openapi.naver.com/v1/nid/me",
+        ResponseEntity<Map> response = naverRestTemplate.exchange(
+                "/v1/nid/me",
                 HttpMethod.GET,
                 entity,
                 Map.class
@@ -1,4 +1,290 @@
 package bit.bitgroundspring.service;
 
+import bit.bitgroundspring.dto.NewsItemDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 네이버 뉴스 검색 캐시 (keyword, display, start 단위)
+ * - ttl-ms 안이면 캐시 그대로, ttl-ms ~ ttl-ms + stale-ms 사이면 캐시를 먼저 돌려주고 백그라운드에서 갱신
+ * - 그보다 오래됐거나 없으면 네이버 API 호출 - 같은 키의 동시 요청은 진행 중인 호출 하나를 함께 기다림
+ * - 응답은 Jackson 스트리밍으로 필요한 필드만 읽고, HTML 정리도 갱신할 때 한 번만 수행
+ * - 직전 갱신 이후 popular-min-hits 번 이상 조회된 키는 만료 전에 미리 갱신
+ * - 네이버 호출이 실패하면 남아 있는 캐시를 그대로 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
 public class NewsService {
+    
+    // <b> 태그만 남기고 나머지 태그 제거
+    private static final Pattern NON_BOLD_TAG = Pattern.compile("<(?!/?b>)[^>]+>");
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    @Qualifier("naverRestTemplate")
+    private final RestTemplate naverRestTemplate;
+    @Qualifier("newsRefreshExecutor")
+    private final Executor newsRefreshExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${http.client.naver.base-url:https://openapi.naver.com}")
+    private String naverBaseUrl;
+    
+    @Value("${naver.api.client-id:Czd_lY45xNZVMbwiOqTF}")
+    private String clientId;
+    
+    @Value("${naver.api.client-secret:yhJYNi8nun}")
+    private String clientSecret;
+    
+    @Value("${news.cache.ttl-ms:60000}")
+    private long ttlMs;
+    
+    @Value("${news.cache.stale-ms:300000}")
+    private long staleMs;
+    
+    @Value("${news.cache.max-entries:500}")
+    private int maxEntries;
+    
+    // 만료 refresh-ahead-ms 전부터 인기 키를 미리 갱신
+    @Value("${news.cache.refresh-ahead-ms:15000}")
+    private long refreshAheadMs;
+    
+    @Value("${news.cache.popular-min-hits:5}")
+    private int popularMinHits;
+    
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    
+    private Counter hitCounter;
+    private Counter staleCounter;
+    private Counter missCounter;
+    private Counter upstreamFailureCounter;
+    
+    private record Key(String keyword, int display, int start) {
+    }
+    
+    /**
+     * 캐시 항목 (목록은 불변, 조회 수 / 마지막 조회 시각만 갱신)
+     */
+    private static final class Entry {
+        private final List<NewsItemDto> items;
+        private final long fetchedAt;
+        private final AtomicInteger hits = new AtomicInteger();
+        private volatile long lastAccessAt;
+        
+        private Entry(List<NewsItemDto> items, long fetchedAt) {
+            this.items = items;
+            this.fetchedAt = fetchedAt;
+            this.lastAccessAt = fetchedAt;
+        }
+    }
+    
+    @PostConstruct
+    private void init() {
+        Gauge.builder("news.cache.entries", cache, Map::size)
+                .register(meterRegistry);
+        hitCounter = Counter.builder("news.cache.requests").tag("result", "hit").register(meterRegistry);
+        staleCounter = Counter.builder("news.cache.requests").tag("result", "stale").register(meterRegistry);
+        missCounter = Counter.builder("news.cache.requests").tag("result", "miss").register(meterRegistry);
+        upstreamFailureCounter = Counter.builder("news.cache.upstream.failed")
+                .register(meterRegistry);
+    }
+    
+    public List<NewsItemDto> getNews(String keyword, int display, int start) {
+        Key key = new Key(keyword.trim(), display, start);
+        long now = System.currentTimeMillis();
+        
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            long age = now - entry.fetchedAt;
+            if (age < ttlMs + staleMs) {
+                entry.hits.incrementAndGet();
+                entry.lastAccessAt = now;
+                if (age < ttlMs) {
+                    hitCounter.increment();
+                } else {
+                    staleCounter.increment();
+                    refresh(key);
+                }
+                return entry.items;
+            }
+        }
+        
+        missCounter.increment();
+        try {
+            return refresh(key).join().items;
+        } catch (CompletionException e) {
+            if (entry != null) {
+                return entry.items; // 오래됐어도 실패보다는 나음
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("뉴스 조회 실패", e.getCause());
+        }
+    }
+    
+    /**
+     * 인기 키 미리 갱신 + 오래된 항목 정리
+     */
+    @Scheduled(fixedDelayString = "${news.cache.refresh-check-ms:5000}")
+    public void refreshPopular() {
+        long now = System.currentTimeMillis();
+        cache.forEach((key, entry) -> {
+            long age = now - entry.fetchedAt;
+            if (age >= ttlMs + staleMs) {
+                cache.remove(key, entry);
+            } else if (age >= ttlMs - refreshAheadMs && entry.hits.get() >= popularMinHits) {
+                refresh(key);
+            }
+        });
+    }
+    
+    /**
+     * 키 하나의 갱신 (진행 중인 갱신이 있으면 그것을 반환)
+     */
+    private CompletableFuture<Entry> refresh(Key key) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            newsRefreshExecutor.execute(() -> {
+                try {
+                    Entry entry = new Entry(fetch(key), System.currentTimeMillis());
+                    store(key, entry);
+                    inFlight.remove(key, created);
+                    created.complete(entry);
+                } catch (Exception e) {
+                    upstreamFailureCounter.increment();
+                    log.warn("Failed to fetch news for '{}' (display={}, start={}): {}",
+                            key.keyword(), key.display(), key.start(), e.getMessage());
+                    inFlight.remove(key, created);
+                    created.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+    
+    private void store(Key key, Entry entry) {
+        cache.put(key, entry);
+        if (cache.size() <= maxEntries) {
+            return;
+        }
+        // 가장 오래 조회되지 않은 항목 제거
+        Key eldest = null;
+        long eldestAccess = Long.MAX_VALUE;
+        for (Map.Entry<Key, Entry> candidate : cache.entrySet()) {
+            if (candidate.getValue().lastAccessAt < eldestAccess) {
+                eldestAccess = candidate.getValue().lastAccessAt;
+                eldest = candidate.getKey();
+            }
+        }
+        if (eldest != null) {
+            cache.remove(eldest);
+        }
+    }
+    
+    private List<NewsItemDto> fetch(Key key) {
+        URI uri = UriComponentsBuilder
+                .fromUriString(naverBaseUrl)
+                .path("/v1/search/news.json")
+                .queryParam("query", URLEncoder.encode(key.keyword(), StandardCharsets.UTF_8))
+                .queryParam("display", key.display())
+                .queryParam("start", key.start())
+                .queryParam("sort", "date")
+                .build()
+                .toUri();
+        
+        List<NewsItemDto> items = naverRestTemplate.execute(uri, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().add("X-Naver-Client-Id", clientId);
+                    request.getHeaders().add("X-Naver-Client-Secret", clientSecret);
+                },
+                response -> parseItems(response.getBody()));
+        return items == null ? List.of() : items;
+    }
+    
+    /**
+     * 응답에서 items 배열의 필요한 필드만 스트리밍으로 읽음
+     */
+    private List<NewsItemDto> parseItems(InputStream body) throws IOException {
+        List<NewsItemDto> items = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected news response");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("items".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        items.add(parseItem(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return List.copyOf(items);
+    }
+    
+    private NewsItemDto parseItem(JsonParser parser) throws IOException {
+        String title = "";
+        String originalLink = "";
+        String link = "";
+        String description = "";
+        String pubDate = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "title" -> title = cleanHtmlExceptBold(parser.getValueAsString(""));
+                case "originallink" -> originalLink = parser.getValueAsString("");
+                case "link" -> link = parser.getValueAsString("");
+                case "description" -> description = cleanHtmlExceptBold(parser.getValueAsString(""));
+                case "pubDate" -> pubDate = parser.getValueAsString("");
+                default -> parser.skipChildren();
+            }
+        }
+        return new NewsItemDto(title, originalLink, link, description, pubDate);
+    }
+    
+    private static String cleanHtmlExceptBold(String html) {
+        return NON_BOLD_TAG.matcher(html).replaceAll("");
+    }
 }
@@ -4,36 +4,287 @@ import bit.bitgroundspring.dto.projection.NotificationProjection;
 import bit.bitgroundspring.entity.Notification;
 import bit.bitgroundspring.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림 조회 / 읽음 처리
+ * - 목록: 개인 알림과 시스템 알림(user_id = 1) 을 각각 인덱스 범위 스캔으로 읽고 (createdAt, id) 순서로 병합
+ * - 안 읽은 개수: 개인 알림은 Redis 카운터, 시스템 알림은 사용자가 마지막으로 읽은 시스템 알림 ID 보다 큰 ID 수
+ *   (개인 카운터를 DB 에서 다시 채우는 동안 증가가 오면 그 채우기는 저장하지 않음)
+ *   (시스템 알림 ID 는 Redis ZSET 에 캐시, 시스템 알림이 저장되면 지워서 다음 조회 때 DB 에서 다시 채움)
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
-    
+
+    private static final String UNREAD_KEY_PREFIX = "notification:unread:";
+    private static final String UNREAD_REBUILDING_KEY_PREFIX = "notification:unread:rebuilding:";
+    private static final String SYSTEM_READ_KEY_PREFIX = "notification:system:read-id:";
+    private static final String SYSTEM_IDS_KEY = "notification:system:ids";
+    private static final long COUNTER_TTL_HOURS = 24;
+    // DB 개수 조회보다 충분히 길게 (만료되면 그 채우기는 저장되지 않음)
+    private static final long REBUILD_MARKER_TTL_SECONDS = 5;
+    // 채우는 도중 저장된 알림이 빠진 목록이 다시 쓰일 수 있으므로 짧게 유지
+    private static final long SYSTEM_IDS_TTL_MINUTES = 10;
+    // 시스템 알림이 하나도 없어도 키가 남도록 넣어 두는 멤버 (ID 0 이므로 개수에 포함되지 않음)
+    private static final String SYSTEM_IDS_SENTINEL = "0";
+
+    /**
+     * 키가 있을 때만 증가 (없으면 다음 조회 시 DB 에서 다시 채움)
+     * 키가 없고 다시 채우는 중이면 표시를 지워, 이 증가를 빠뜨렸을 수 있는 DB 개수가 저장되지 않게 함
+     * KEYS[1]: 카운터, KEYS[2]: 채우는 중 표시, ARGV[1]: 증가량
+     */
+    private static final RedisScript<Long> INCR_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCRBY', KEYS[1], ARGV[1]) end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "return -1",
+            Long.class);
+
+    /**
+     * 채우는 중 표시가 내 것 그대로일 때만 DB 개수 저장 (그 사이 증가가 있었으면 0 - 다음 조회 때 다시 채움)
+     * KEYS[1]: 카운터, KEYS[2]: 채우는 중 표시, ARGV[1]: 표시 토큰, ARGV[2]: 개수, ARGV[3]: TTL(초)
+     */
+    private static final RedisScript<Long> STORE_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'NX', 'EX', ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    // 최신순 정렬: createdAt DESC, id DESC
+    private static final Comparator<NotificationProjection> NEWEST_FIRST = Comparator
+            .comparing(NotificationProjection::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(NotificationProjection::getId, Comparator.reverseOrder());
+
     private final NotificationRepository notificationRepository;
-    
+    private final StringRedisTemplate stringRedisTemplate;
+
     // 알림 저장
     public void saveNotification(Notification notification) {
         notificationRepository.save(notification);
+        onNotificationsInserted(Map.of(notification.getUser().getId(), 1));
     }
-    
-    // 사용자별 알림 조회
+
+    // 사용자별 알림 조회 (개인 + 시스템 알림, 오프셋 페이지)
     public Page<NotificationProjection> findNotifications(Integer userId, Pageable pageable) {
-        return notificationRepository.findNotificationsByUserIdOrAll(userId, pageable);
+        // 병합 후 offset 만큼 건너뛰므로 각 스트림에서 offset + size 개까지만 읽으면 충분
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        PageRequest head = PageRequest.of(0, limit);
+
+        List<NotificationProjection> merged;
+        long total;
+        if (userId.equals(NotificationWriter.SYSTEM_USER_ID)) {
+            merged = notificationRepository.findLatestByUserId(userId, head);
+            total = notificationRepository.countByUser_Id(userId);
+        } else {
+            merged = merge(
+                    notificationRepository.findLatestByUserId(userId, head),
+                    notificationRepository.findLatestByUserId(NotificationWriter.SYSTEM_USER_ID, head),
+                    limit);
+            total = notificationRepository.countByUser_Id(userId)
+                    + notificationRepository.countByUser_Id(NotificationWriter.SYSTEM_USER_ID);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        return new PageImpl<>(merged.subList(from, merged.size()), pageable, total);
+    }
+
+    // 키셋 페이지네이션 조회 - (cursorCreatedAt, cursorId) 보다 오래된 알림 size 개
+    public Slice<NotificationProjection> findNotificationsBefore(Integer userId, LocalDateTime cursorCreatedAt,
+                                                                 Integer cursorId, int size) {
+        // 다음 페이지 존재 여부 확인을 위해 한 개 더 읽음
+        PageRequest head = PageRequest.of(0, size + 1);
+        List<NotificationProjection> merged;
+        if (cursorCreatedAt == null || cursorId == null) {
+            merged = merge(
+                    notificationRepository.findLatestByUserId(userId, head),
+                    userId.equals(NotificationWriter.SYSTEM_USER_ID) ? List.of()
+                            : notificationRepository.findLatestByUserId(NotificationWriter.SYSTEM_USER_ID, head),
+                    size + 1);
+        } else {
+            merged = merge(
+                    notificationRepository.findByUserIdBefore(userId, cursorCreatedAt, cursorId, head),
+                    userId.equals(NotificationWriter.SYSTEM_USER_ID) ? List.of()
+                            : notificationRepository.findByUserIdBefore(NotificationWriter.SYSTEM_USER_ID,
+                            cursorCreatedAt, cursorId, head),
+                    size + 1);
+        }
+        boolean hasNext = merged.size() > size;
+        List<NotificationProjection> content = hasNext ? merged.subList(0, size) : merged;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
     }
-    
-    // userId가 일치하는 isRead 상태 업데이트
+
+    // userId가 일치하는 isRead 상태 업데이트 + 시스템 알림 워터마크 갱신
     @Transactional
     public void markAllAsRead(Integer userId) {
         notificationRepository.markAllAsRead(userId);
+
+        // 워터마크는 읽음 처리 시점의 마지막 시스템 알림 ID (개수가 아니라 위치)
+        String lastSystemId = String.valueOf(notificationRepository.findMaxIdByUserId(NotificationWriter.SYSTEM_USER_ID));
+        Runnable resetCounters = () -> {
+            try {
+                // 0 을 쓰면 UPDATE ~ 커밋 사이에 반영된 증분을 덮어쓰므로 지우고 다음 조회 때 DB 에서 다시 채움
+                stringRedisTemplate.delete(List.of(UNREAD_KEY_PREFIX + userId, UNREAD_REBUILDING_KEY_PREFIX + userId));
+                stringRedisTemplate.opsForValue().set(SYSTEM_READ_KEY_PREFIX + userId, lastSystemId);
+            } catch (Exception e) {
+                log.error("Failed to reset unread counters for user {}", userId, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    resetCounters.run();
+                }
+            });
+        } else {
+            resetCounters.run();
+        }
     }
-    
-    // 읽지 않은 알림 개수 조회
+
+    // 읽지 않은 알림 개수 조회 (개인 + 시스템)
     public Integer countUnreadNotifications(Integer userId) {
-        return notificationRepository.countByIsReadFalseAndUser_Id(userId);
+        long personal = getPersonalUnread(userId);
+        if (userId.equals(NotificationWriter.SYSTEM_USER_ID)) {
+            return (int) personal;
+        }
+
+        ensureSystemIds();
+        // 워터마크가 없는 사용자는 지금까지의 시스템 알림을 읽은 것으로 간주
+        String watermarkKey = SYSTEM_READ_KEY_PREFIX + userId;
+        String watermark = stringRedisTemplate.opsForValue().get(watermarkKey);
+        if (watermark == null) {
+            stringRedisTemplate.opsForValue().setIfAbsent(watermarkKey, String.valueOf(latestSystemId()));
+            watermark = stringRedisTemplate.opsForValue().get(watermarkKey);
+        }
+        // (워터마크, +inf] 범위의 시스템 알림 ID 수
+        Long systemUnread = stringRedisTemplate.opsForZSet()
+                .count(SYSTEM_IDS_KEY, parseLong(watermark, 0) + 1, Double.POSITIVE_INFINITY);
+
+        return (int) (personal + (systemUnread == null ? 0 : systemUnread));
+    }
+
+    /**
+     * 알림 INSERT 후 카운터 증분 반영 (NotificationWriter 가 배치 저장 후 호출)
+     * @param insertedByUser 사용자 ID → 저장된 알림 수 (시스템 알림은 SYSTEM_USER_ID)
+     */
+    public void onNotificationsInserted(Map<Integer, Integer> insertedByUser) {
+        for (Map.Entry<Integer, Integer> entry : insertedByUser.entrySet()) {
+            if (entry.getKey().equals(NotificationWriter.SYSTEM_USER_ID)) {
+                // 저장된 ID 를 모르므로 목록을 지워 다음 조회 때 DB 에서 다시 채움
+                try {
+                    stringRedisTemplate.delete(SYSTEM_IDS_KEY);
+                } catch (Exception e) {
+                    log.error("Failed to invalidate system notification ids", e);
+                }
+                continue;
+            }
+            String key = UNREAD_KEY_PREFIX + entry.getKey();
+            String rebuildingKey = UNREAD_REBUILDING_KEY_PREFIX + entry.getKey();
+            try {
+                stringRedisTemplate.execute(INCR_IF_EXISTS, List.of(key, rebuildingKey),
+                        String.valueOf(entry.getValue()));
+            } catch (Exception e) {
+                // 카운터가 틀어지지 않도록 지워서 다음 조회 때 DB 에서 다시 채움
+                log.error("Failed to increment notification counter {}", key, e);
+                stringRedisTemplate.delete(List.of(key, rebuildingKey));
+            }
+        }
+    }
+
+    private long getPersonalUnread(Integer userId) {
+        String key = UNREAD_KEY_PREFIX + userId;
+        String cached = stringRedisTemplate.opsForValue().get(key);
+        if (cached != null) {
+            return parseLong(cached, 0);
+        }
+        // DB 개수를 세는 동안 커밋된 알림의 증가가 사라지지 않도록, 세기 전에 채우는 중 표시를 남김
+        String rebuildingKey = UNREAD_REBUILDING_KEY_PREFIX + userId;
+        String token = UUID.randomUUID().toString();
+        stringRedisTemplate.opsForValue().set(rebuildingKey, token, REBUILD_MARKER_TTL_SECONDS, TimeUnit.SECONDS);
+        long count = notificationRepository.countByIsReadFalseAndUser_Id(userId);
+        stringRedisTemplate.execute(STORE_IF_UNCHANGED, List.of(key, rebuildingKey), token,
+                String.valueOf(count), String.valueOf(TimeUnit.HOURS.toSeconds(COUNTER_TTL_HOURS)));
+        return count;
+    }
+
+    /**
+     * 시스템 알림 ID ZSET 이 없으면 DB 에서 채움 (score = ID)
+     */
+    private void ensureSystemIds() {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(SYSTEM_IDS_KEY))) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> ids = new HashSet<>();
+        ids.add(ZSetOperations.TypedTuple.of(SYSTEM_IDS_SENTINEL, 0d));
+        for (Integer id : notificationRepository.findIdsByUserId(NotificationWriter.SYSTEM_USER_ID)) {
+            ids.add(ZSetOperations.TypedTuple.of(String.valueOf(id), id.doubleValue()));
+        }
+        stringRedisTemplate.opsForZSet().add(SYSTEM_IDS_KEY, ids);
+        stringRedisTemplate.expire(SYSTEM_IDS_KEY, SYSTEM_IDS_TTL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private long latestSystemId() {
+        Set<ZSetOperations.TypedTuple<String>> latest =
+                stringRedisTemplate.opsForZSet().reverseRangeWithScores(SYSTEM_IDS_KEY, 0, 0);
+        if (latest == null || latest.isEmpty()) {
+            return notificationRepository.findMaxIdByUserId(NotificationWriter.SYSTEM_USER_ID);
+        }
+        Double score = latest.iterator().next().getScore();
+        return score == null ? 0 : score.longValue();
+    }
+
+    // 두 최신순 목록을 (createdAt, id) 기준으로 병합해 최대 limit 개 반환
+    private static List<NotificationProjection> merge(List<NotificationProjection> personal,
+                                                      List<NotificationProjection> system,
+                                                      int limit) {
+        List<NotificationProjection> merged = new ArrayList<>(Math.min(limit, personal.size() + system.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < personal.size() || j < system.size())) {
+            if (j >= system.size()
+                    || (i < personal.size() && NEWEST_FIRST.compare(personal.get(i), system.get(j)) <= 0)) {
+                merged.add(personal.get(i++));
+            } else {
+                merged.add(system.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
-    
 }
@@ -0,0 +1,253 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.dto.response.Message;
+import bit.bitgroundspring.util.BoundedRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 알림 write-behind 저장
+ * - SSE 전송 경로에서는 원본 데이터만 큐에 넣고 바로 반환 (문구 생성 / INSERT 는 워커 스레드에서)
+ * - 워커 하나가 batch-size 건이 모이거나 max-delay-ms 가 지나면 JDBC 배치 INSERT
+ * - 큐가 가득 차면 호출 스레드에서 바로 저장 (유실 없이 호출자 속도를 늦춤)
+ * - 종료 시 남은 알림을 모두 저장
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationWriter {
+
+    // 시스템 알림(공지, 시즌) 은 user_id = 1 로 저장
+    public static final int SYSTEM_USER_ID = 1;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, message, message_type, created_at, is_read) VALUES (?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${notification.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notification.write-behind.max-delay-ms:50}")
+    private long maxDelayMs;
+
+    private BoundedRingBuffer<PendingNotification> queue;
+    private Thread worker;
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSizeSummary;
+    private Counter writtenCounter;
+    private Counter overflowCounter;
+    private Counter failedCounter;
+
+    // DecimalFormat 은 스레드 안전하지 않으므로 스레드별로 보관 (워커 + 큐 초과 시 호출 스레드)
+    private static final ThreadLocal<DecimalFormat> PRICE_FORMAT = ThreadLocal.withInitial(() -> {
+        DecimalFormat format = new DecimalFormat("#,##0.########");
+        format.setRoundingMode(RoundingMode.HALF_UP);
+        return format;
+    });
+    private static final ThreadLocal<DecimalFormat> AMOUNT_FORMAT = ThreadLocal.withInitial(() -> {
+        DecimalFormat format = new DecimalFormat("0.0000000");
+        format.setRoundingMode(RoundingMode.HALF_UP);
+        return format;
+    });
+
+    private record PendingNotification(int userId, Message messageType, Map<String, Object> data,
+                                       LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    private void init() {
+        queue = new BoundedRingBuffer<>(capacity);
+
+        Gauge.builder("notification.write_behind.queue.depth", queue, BoundedRingBuffer::size)
+                .description("Notifications waiting to be inserted")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("notification.write_behind.batch.size")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("notification.write_behind.written")
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("notification.write_behind.overflow")
+                .description("Notifications written synchronously because the queue was full")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("notification.write_behind.failed")
+                .register(meterRegistry);
+
+        worker = new Thread(this::runWorker, "Notification-Writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Notification writer stopped. remaining={}", queue.size());
+    }
+
+    /**
+     * 개인 알림 저장 예약 (체결, 문의 답변)
+     */
+    public void enqueue(Integer userId, Message messageType, Map<String, Object> data) {
+        PendingNotification notification = new PendingNotification(userId, messageType, data, LocalDateTime.now());
+        if (running && queue.offer(notification)) {
+            return;
+        }
+        // 큐 초과 (또는 종료 중): 호출 스레드에서 바로 저장
+        overflowCounter.increment();
+        writeBatch(List.of(notification));
+    }
+
+    /**
+     * 시스템 알림 저장 예약 (공지, 시즌 갱신)
+     */
+    public void enqueueSystem(Message messageType, Map<String, Object> data) {
+        enqueue(SYSTEM_USER_ID, messageType, data);
+    }
+
+    private void runWorker() {
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        long batchStartedAt = 0;
+
+        while (running || !queue.isEmpty()) {
+            PendingNotification next = queue.poll();
+            if (next != null) {
+                if (batch.isEmpty()) {
+                    batchStartedAt = System.nanoTime();
+                }
+                batch.add(next);
+                if (batch.size() >= batchSize || System.nanoTime() - batchStartedAt >= maxDelayNanos) {
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                continue;
+            }
+
+            if (!batch.isEmpty() && System.nanoTime() - batchStartedAt >= maxDelayNanos) {
+                writeBatch(batch);
+                batch.clear();
+            } else {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(5));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<PendingNotification> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingNotification notification : batch) {
+            try {
+                rows.add(new Object[]{
+                        notification.userId(),
+                        formatMessage(notification.messageType(), notification.data()),
+                        notification.messageType().name(),
+                        Timestamp.valueOf(notification.createdAt())
+                });
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("알림 문구 생성 실패 - 사용자: {}, 오류: {}", notification.userId(), e.getMessage());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Integer> insertedByUser = new HashMap<>();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            batchSizeSummary.record(rows.size());
+            writtenCounter.increment(rows.size());
+            for (Object[] row : rows) {
+                insertedByUser.merge((Integer) row[0], 1, Integer::sum);
+            }
+        } catch (Exception e) {
+            log.error("알림 배치 저장 실패 ({}건), 개별 저장으로 재시도: {}", rows.size(), e.getMessage());
+            for (Object[] row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row);
+                    writtenCounter.increment();
+                    insertedByUser.merge((Integer) row[0], 1, Integer::sum);
+                } catch (Exception rowError) {
+                    failedCounter.increment();
+                    log.error("알림 저장 실패 - 사용자: {}, 오류: {}", row[0], rowError.getMessage());
+                }
+            }
+        }
+
+        // 안 읽은 알림 카운터 증분 반영
+        try {
+            notificationService.onNotificationsInserted(insertedByUser);
+        } catch (Exception e) {
+            log.error("알림 카운터 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    // ========== 알림 문구 ==========
+
+    private String formatMessage(Message messageType, Map<String, Object> data) {
+        switch (messageType) {
+            case ORDER_EXECUTION: {
+                String orderType = "BUY".equals(String.valueOf(data.get("orderType"))) ? "매수" : "매도";
+                String symbol = (String) data.get("symbol");
+                String cutSymbol = symbol.substring(symbol.indexOf('-') + 1);
+                // 다른 노드에서 전달된 경우 JSON 역직렬화로 숫자 타입이 바뀔 수 있으므로 Number 로 변환
+                double amount = ((Number) data.get("amount")).doubleValue();
+                float tradePrice = ((Number) data.get("tradePrice")).floatValue();
+                return "예약 " + orderType + " 주문이 체결되었습니다.\n"
+                        + "수량 : " + AMOUNT_FORMAT.get().format(amount) + " " + cutSymbol + "\n"
+                        + "체결 : 개당 " + PRICE_FORMAT.get().format(tradePrice) + "원";
+            }
+            case INQUIRY_UPDATE:
+                return "작성하신 문의사항에 답변이 등록되었습니다.\n지금 바로 확인해보세요.\n📩[" + data.get("title") + "]";
+            case SEASON_UPDATE:
+                return seasonMessage((String) data.get("seasonFlag"), (String) data.get("seasonName"));
+            case NOTICE:
+                return "🔔 새로운 공지사항이 등록되었습니다.\n고객센터 탭에서 확인해보세요.\n[" + data.get("title") + "]";
+            default:
+                return "";
+        }
+    }
+
+    private String seasonMessage(String seasonFlag, String seasonName) {
+        if ("season".equals(seasonFlag)) {
+            return "🎉 " + seasonName + " 스플릿 1 🎉\n새로운 시즌이 시작되었습니다!\n이전 랭킹과 수익률을 확인해보세요.";
+        } else if ("split".equals(seasonFlag)) {
+            return "🚀 " + seasonName + " 스플릿 2 🚀\n새로운 스플릿이 시작되었습니다!\n10,000,000원의 추가 자금이 지급됩니다.";
+        }
+        return "";
+    }
+}
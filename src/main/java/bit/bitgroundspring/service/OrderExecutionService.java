@@ -4,51 +4,290 @@ import bit.bitgroundspring.dto.response.Message;
 import bit.bitgroundspring.dto.response.MessageType;
 import bit.bitgroundspring.dto.response.NotificationResponse;
 import bit.bitgroundspring.entity.*;
+import bit.bitgroundspring.dto.projection.OrderOwnerProjection;
 import bit.bitgroundspring.event.OrderCreatedEvent;
+import bit.bitgroundspring.matching.OrderBookRegistry;
+import bit.bitgroundspring.matching.OrderMirror;
 import bit.bitgroundspring.repository.CoinRepository;
 import bit.bitgroundspring.repository.OrderRepository;
-import bit.bitgroundspring.repository.UserAssetRepository;
 import bit.bitgroundspring.repository.UserRepository;
+import bit.bitgroundspring.settlement.BalanceSettlement;
+import bit.bitgroundspring.settlement.ReservationLedger;
+import bit.bitgroundspring.settlement.SettlementRunner;
+import bit.bitgroundspring.settlement.UserCommandLanes;
+import bit.bitgroundspring.util.ExecutionMessageCodec;
 import bit.bitgroundspring.util.UserSseEmitters;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 예약 주문 체결 큐 소비
+ * - 메시지는 큐에서 바로 꺼내지 않고 소비자별 처리 중 목록({queue}:processing:{consumerId})으로 옮긴 뒤 처리하고,
+ *   체결 결과가 커밋된 다음 LREM 으로 지움 (꺼낸 뒤 소비자가 죽어도 메시지가 사라지지 않음)
+ * - 소비자는 {queue}:consumers 에 등록하고 {queue}:consumer:{consumerId} 하트비트를 주기적으로 갱신
+ * - 하트비트가 끊긴 소비자의 처리 중 목록은 다른 노드(또는 재시작한 노드)가 큐로 되돌림
+ *   → 같은 메시지가 두 번 실행될 수 있지만 체결은 DB 의 PENDING 상태 확인으로 한 번만 일어남
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class OrderExecutionService {
     
+    /**
+     * 큐에서 처리 중 목록으로 최대 ARGV[1] 개 이동 (BLMOVE 로 첫 메시지를 받은 뒤 나머지를 한 번에 가져옴)
+     * KEYS[1]: 실행 큐, KEYS[2]: 처리 중 목록
+     */
+    private static final RedisScript<List> MOVE_BATCH_SCRIPT = new DefaultRedisScript<>(
+            "local moved = {} " +
+            "for i = 1, tonumber(ARGV[1]) do " +
+            "  local message = redis.call('LMOVE', KEYS[1], KEYS[2], 'RIGHT', 'LEFT') " +
+            "  if not message then break end " +
+            "  moved[#moved + 1] = message " +
+            "end " +
+            "return moved",
+            List.class);
+    
+    /**
+     * 처리 중 목록의 메시지를 큐의 꺼내는 쪽(오른쪽)으로 되돌림 - 하트비트가 남아 있으면(살아 있는 소비자) -1
+     * LMOVE LEFT → RIGHT 이므로 먼저 꺼냈던 메시지가 다시 먼저 꺼내짐
+     * KEYS[1]: 처리 중 목록, KEYS[2]: 실행 큐, KEYS[3]: 소비자 집합, KEYS[4]: 하트비트, ARGV[1]: 소비자 ID
+     */
+    private static final RedisScript<Long> RECOVER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[4]) == 1 then return -1 end " +
+            "local n = 0 " +
+            "while redis.call('LMOVE', KEYS[1], KEYS[2], 'LEFT', 'RIGHT') do n = n + 1 end " +
+            "redis.call('SREM', KEYS[3], ARGV[1]) " +
+            "return n",
+            Long.class);
+    
+    /**
+     * 처리하지 못한 메시지를 처리 중 목록에서 빼서 큐의 꺼내는 쪽(오른쪽)에 되돌림 (목록에 남아 있던 것만)
+     * KEYS[1]: 처리 중 목록, KEYS[2]: 실행 큐, ARGV: 되돌릴 메시지 (먼저 꺼낼 메시지가 마지막)
+     */
+    private static final RedisScript<Long> REQUEUE_SCRIPT = new DefaultRedisScript<>(
+            "local n = 0 " +
+            "for i = 1, #ARGV do " +
+            "  if redis.call('LREM', KEYS[1], 1, ARGV[i]) > 0 then " +
+            "    redis.call('RPUSH', KEYS[2], ARGV[i]) " +
+            "    n = n + 1 " +
+            "  end " +
+            "end " +
+            "return n",
+            Long.class);
+    
     private final OrderRepository orderRepository;
     private final CoinRepository coinRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<byte[], byte[]> executionQueueRedisTemplate;
     private final UserSseEmitters userSseEmitters;
     private final UserRepository userRepository;
-    private final UserAssetRepository userAssetRepository;
+    private final BalanceSettlement balanceSettlement;
+    private final SettlementRunner settlementRunner;
+    private final UserCommandLanes userCommandLanes;
+    private final ReservationLedger reservationLedger;
+    private final OrderBookRegistry orderBookRegistry;
+    private final OrderMirror orderMirror;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
     
     @Value("${upbit.order.execution.queue}")
     private String executionQueueName;
     
+    // 한 번에 꺼내서 하나의 트랜잭션으로 처리할 최대 메시지 수
+    @Value("${upbit.order.execution.batch-size:100}")
+    private int batchSize;
+    
+    // 큐가 비었을 때 BLMOVE 대기 시간
+    @Value("${upbit.order.execution.poll-timeout-ms:1000}")
+    private long pollTimeoutMs;
+    
+    // 하트비트가 이 시간 동안 갱신되지 않은 소비자의 처리 중 메시지는 큐로 되돌림
+    @Value("${upbit.order.execution.consumer-ttl-seconds:30}")
+    private long consumerTtlSeconds;
+    
+    // 건별 체결이 이 횟수만큼 실패한 주문은 오더북으로 되돌리지 않고 dead-letter 로 옮김
+    @Value("${upbit.order.execution.max-attempts:5}")
+    private int maxAttempts;
+    
+    private static final long LATE_MESSAGE_THRESHOLD_MS = 300000;
+    private static final long BACKLOG_REFRESH_INTERVAL_MS = 1000;
+    private static final long LANE_FULL_MAX_BACKOFF_MS = 100;
+    
+    private byte[] executionQueueKey;
+    private byte[] consumersKey;
+    private String consumerId;
+    private byte[] processingKey;
+    private byte[] heartbeatKey;
+    
     private final AtomicBoolean isShuttingDown = new AtomicBoolean(false);
+    private final AtomicBoolean consumerStarted = new AtomicBoolean(false);
+    private final AtomicLong queueBacklog = new AtomicLong();
+    private Thread consumerThread;
+    private long lastBacklogRefreshAt;
+    
+    private Counter drainedCounter;
+    private Counter lateCounter;
+    private Counter laneFullCounter;
+    private Counter deadLetteredCounter;
+    private Counter recoveredCounter;
+    private DistributionSummary batchSizeSummary;
+    private Timer batchTimer;
+    
+    @PostConstruct
+    private void init() {
+        executionQueueKey = executionQueueName.getBytes(StandardCharsets.UTF_8);
+        consumersKey = utf8(executionQueueName + ":consumers");
+        consumerId = UUID.randomUUID().toString();
+        processingKey = processingKeyOf(consumerId);
+        heartbeatKey = heartbeatKeyOf(consumerId);
+    }
+    
+    @EventListener(ContextRefreshedEvent.class)
+    public void startConsumer() {
+        if (!consumerStarted.compareAndSet(false, true)) {
+            return;
+        }
+        
+        Gauge.builder("order.execution.queue.backlog", queueBacklog, AtomicLong::get)
+                .description("Execution messages waiting in the Redis queue")
+                .register(meterRegistry);
+        drainedCounter = Counter.builder("order.execution.drained")
+                .description("Execution messages drained from the Redis queue")
+                .register(meterRegistry);
+        lateCounter = Counter.builder("order.execution.late")
+                .description("Execution messages older than 5 minutes when drained")
+                .register(meterRegistry);
+        laneFullCounter = Counter.builder("order.execution.lane_full")
+                .description("Lane submissions retried because the lane queue was full")
+                .register(meterRegistry);
+        deadLetteredCounter = Counter.builder("order.execution.dead_lettered")
+                .description("Orders moved to the dead-letter set after repeated execution failures")
+                .register(meterRegistry);
+        recoveredCounter = Counter.builder("order.execution.recovered")
+                .description("In-flight execution messages returned to the queue from dead consumers")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("order.execution.batch.size")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("order.execution.batch.duration")
+                .register(meterRegistry);
+        
+        // 등록 후 이전에 죽은 소비자(재시작 전의 자신 포함)가 처리하던 메시지부터 큐로 되돌림
+        try {
+            heartbeat();
+            executionQueueRedisTemplate.opsForSet().add(consumersKey, utf8(consumerId));
+            recoverOrphanedMessages();
+        } catch (Exception e) {
+            log.warn("Failed to register execution queue consumer {}: {}", consumerId, e.getMessage());
+        }
+        
+        consumerThread = new Thread(this::consumeExecutionQueue, "OrderExecution-Consumer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
     
     @PreDestroy
     public void shutdown() {
         isShuttingDown.set(true);
         log.info("OrderExecutionService shutting down...");
+        if (consumerThread != null) {
+            try {
+                // BLMOVE 대기 시간 + 진행 중인 배치 처리 시간만큼 기다림
+                consumerThread.join(pollTimeoutMs + TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!consumerThread.isAlive()) {
+                // 정상 종료 - 처리 중 목록에 남은 메시지를 바로 큐로 되돌림 (아직 실행 중이면 하트비트 만료 후 다른 노드가 되돌림)
+                try {
+                    executionQueueRedisTemplate.delete(heartbeatKey);
+                    recover(consumerId);
+                } catch (Exception e) {
+                    log.warn("Failed to return in-flight execution messages on shutdown: {}", e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * 하트비트 갱신 + 하트비트가 끊긴 소비자의 처리 중 메시지 회수 (소비 스레드와 별개로 실행되어 긴 배치 중에도 하트비트 유지)
+     */
+    @Scheduled(fixedDelayString = "${upbit.order.execution.recovery-interval-ms:10000}")
+    public void maintainConsumers() {
+        if (!consumerStarted.get() || isShuttingDown.get()) {
+            return;
+        }
+        try {
+            heartbeat();
+            recoverOrphanedMessages();
+        } catch (Exception e) {
+            log.warn("Failed to maintain execution queue consumers: {}", e.getMessage());
+        }
+    }
+    
+    private void heartbeat() {
+        executionQueueRedisTemplate.opsForValue().set(heartbeatKey, utf8(String.valueOf(System.currentTimeMillis())),
+                Duration.ofSeconds(consumerTtlSeconds));
+    }
+    
+    private void recoverOrphanedMessages() {
+        Set<byte[]> consumers = executionQueueRedisTemplate.opsForSet().members(consumersKey);
+        if (consumers == null) {
+            return;
+        }
+        for (byte[] member : consumers) {
+            String id = new String(member, StandardCharsets.UTF_8);
+            if (!id.equals(consumerId)) {
+                recover(id);
+            }
+        }
+    }
+    
+    private void recover(String id) {
+        Long recovered = executionQueueRedisTemplate.execute(RECOVER_SCRIPT,
+                List.of(processingKeyOf(id), executionQueueKey, consumersKey, heartbeatKeyOf(id)),
+                utf8(id));
+        if (recovered != null && recovered > 0) {
+            recoveredCounter.increment(recovered);
+            log.warn("Returned {} in-flight execution messages of consumer {} to the queue", recovered, id);
+        }
     }
     
     public void queueOrderExecution(Integer orderId, double executionPrice) {
@@ -58,118 +297,374 @@ public class OrderExecutionService {
         }
         
         try {
-            String executionMessage = orderId + ":" + executionPrice + ":" + System.currentTimeMillis();
-            redisTemplate.opsForList().leftPush(executionQueueName, executionMessage);
+            byte[] executionMessage = ExecutionMessageCodec.encode(orderId, executionPrice, System.currentTimeMillis());
+            executionQueueRedisTemplate.opsForList().leftPush(executionQueueKey, executionMessage);
         } catch (Exception e) {
             log.error("Failed to queue order execution: {}", orderId, e);
         }
     }
     
-    @Scheduled(fixedDelay = 100)
-    @Transactional
-    public void processOrderExecutionQueue() {
+    /**
+     * 실행 큐 소비 루프 - 큐가 빌 때까지 batchSize 단위로 연속해서 꺼내 처리
+     */
+    private void consumeExecutionQueue() {
+        while (!isShuttingDown.get()) {
+            try {
+                List<byte[]> messages = drainBatch();
+                refreshBacklog();
+                if (messages.isEmpty()) {
+                    continue;
+                }
+                processBatch(messages);
+            } catch (Exception e) {
+                if (isShuttingDown.get()) {
+                    return;
+                }
+                log.error("Error processing order execution queue", e);
+                sleepQuietly(pollTimeoutMs);
+            }
+        }
+    }
+    
+    private List<byte[]> drainBatch() {
+        // 1) 큐에 쌓여 있으면 한 번에 처리 중 목록으로 옮김
+        List<byte[]> messages = moveBatch(batchSize);
+        if (!messages.isEmpty()) {
+            return messages;
+        }
+        
+        // 2) 큐가 비었으면 BLMOVE 로 다음 메시지가 들어올 때까지 대기
+        byte[] first = executionQueueRedisTemplate.opsForList().move(
+                executionQueueKey, RedisListCommands.Direction.RIGHT,
+                processingKey, RedisListCommands.Direction.LEFT,
+                Duration.ofMillis(pollTimeoutMs));
+        if (first == null) {
+            return List.of();
+        }
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        if (batchSize > 1) {
+            batch.addAll(moveBatch(batchSize - 1));
+        }
+        return batch;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<byte[]> moveBatch(int count) {
+        List<byte[]> moved = executionQueueRedisTemplate.execute(MOVE_BATCH_SCRIPT,
+                List.of(executionQueueKey, processingKey), utf8(String.valueOf(count)));
+        return moved != null ? moved : List.of();
+    }
+    
+    /**
+     * 처리 끝난 메시지를 처리 중 목록에서 제거 - 실패하면 로그만 남김
+     * (목록에 남은 메시지는 이 소비자가 종료된 뒤 큐로 되돌려져 다시 실행되지만, 이미 체결된 주문은 PENDING 확인에서 건너뜀)
+     */
+    private void acknowledge(List<byte[]> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
         try {
-            Object messageObj = redisTemplate.opsForList().rightPop(executionQueueName);
-            
-            if (messageObj != null) {
-                String message = messageObj.toString();
-                String[] parts = message.split(":");
-                if (parts.length >= 3) {
-                    Integer orderId = Integer.parseInt(parts[0]);
-                    double executionPrice = Double.parseDouble(parts[1]);
-                    long timestamp = Long.parseLong(parts[2]);
-                    
-                    if (System.currentTimeMillis() - timestamp > 300000) {
-                        log.warn("Discarding old execution message for order: {}", orderId);
-                        return;
+            executionQueueRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (byte[] message : messages) {
+                        operations.opsForList().remove(processingKey, 1, message);
                     }
-                    
-                    executeOrder(orderId, executionPrice);
+                    return null;
                 }
-            }
+            });
         } catch (Exception e) {
-            log.error("Error processing order execution queue", e);
+            log.warn("Failed to acknowledge {} execution messages: {}", messages.size(), e.getMessage());
         }
     }
     
-    public void executeOrder(Integer orderId, double executionPrice) {
-        try {
-            Optional<Order> orderOpt = orderRepository.findByIdAndStatus(orderId, Status.PENDING);
-            if (orderOpt.isEmpty()) {
-                log.debug("Order not found or not pending: {}", orderId);
-                return;
+    private void processBatch(List<byte[]> messages) {
+        List<ExecutionRequest> requests = new ArrayList<>(messages.size());
+        long now = System.currentTimeMillis();
+        List<byte[]> malformed = new ArrayList<>();
+        for (byte[] message : messages) {
+            ExecutionRequest request = decodeExecutionMessage(message);
+            if (request == null) {
+                malformed.add(message);
+                continue;
             }
-            
-            Order order = orderOpt.get();
-            order.setStatus(Status.COMPLETED);
-            order.setTradePrice(executionPrice);
-            order.setUpdatedAt(LocalDateTime.now());
-            
-            orderRepository.save(order);
-            eventPublisher.publishEvent(new OrderCreatedEvent(this, order));
-            
-            int userId = order.getUser().getId();
-            OrderType orderType = order.getOrderType();
-            String symbol = coinRepository.findById(order.getCoin().getId())
-                    .map(Coin::getSymbol)
-                    .orElse("Unknown");
-            double amount = order.getAmount();
-            
-            // 유저 현재 잔액 업데이트
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            if (orderType == OrderType.BUY) {
-                user.setCash(user.getCash() - (int) (executionPrice * amount));
-            } else if (orderType == OrderType.SELL) {
-                user.setCash(user.getCash() + (int) (executionPrice * amount));
+            if (now - request.queuedAt() > LATE_MESSAGE_THRESHOLD_MS) {
+                // 예전에는 버렸지만, 버리면 주문이 영원히 PENDING 으로 남으므로 체결은 그대로 진행
+                lateCounter.increment();
+                log.warn("Executing late message for order: {} (queued {} ms ago)",
+                        request.orderId(), now - request.queuedAt());
             }
-            userRepository.save(user);
-            
-            // 유저 자산 업데이트
-            Optional<UserAsset> userAssetOptional = userAssetRepository.findByUserAndCoinWithLock(user, order.getCoin());
-            if (userAssetOptional.isPresent()) {
-                UserAsset userAsset = userAssetOptional.get();
-                double userAssetAmount = userAsset.getAmount();
-                if (orderType == OrderType.BUY) {
-                    userAsset.setAmount(userAssetAmount + amount);
-                    userAsset.setAvgPrice(
-                            (userAsset.getAvgPrice() * userAssetAmount + executionPrice * amount)
-                                    / (userAssetAmount + amount));
-                    userAssetRepository.save(userAsset);
-                } else if (orderType == OrderType.SELL) {
-                    final float EPS = 0.00000001f;
-                    double remainingAmount = userAssetAmount - amount;
-                    if (remainingAmount < EPS) {
-                        userAssetRepository.delete(userAsset);
-                    } else {
-                        userAsset.setAmount(remainingAmount);
-                        userAssetRepository.save(userAsset);
-                    }
+            requests.add(request);
+        }
+        acknowledge(malformed);
+        drainedCounter.increment(messages.size());
+        batchSizeSummary.record(requests.size());
+        if (requests.isEmpty()) {
+            return;
+        }
+        
+        batchTimer.record(() -> {
+            // 주문 소유자의 레인별로 나눠 실행 (같은 사용자의 즉시 주문과 겹치지 않고, 다른 레인은 병렬)
+            Map<Integer, List<ExecutionRequest>> byLane = groupByLane(requests);
+            List<CompletableFuture<Void>> pending = new ArrayList<>(byLane.size());
+            for (Map.Entry<Integer, List<ExecutionRequest>> entry : byLane.entrySet()) {
+                pending.add(submitToLane(entry.getKey(), entry.getValue()));
+            }
+            for (CompletableFuture<Void> future : pending) {
+                try {
+                    UserCommandLanes.await(future);
+                } catch (Exception e) {
+                    log.error("Lane execution failed", e);
                 }
-            } else if (orderType == OrderType.BUY) {
-                UserAsset newUserAsset = UserAsset.builder()
-                        .user(user)
-                        .coin(order.getCoin())
-                        .amount(amount)
-                        .avgPrice(executionPrice)
-                        .build();
-                userAssetRepository.save(newUserAsset);
             }
-            
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    // 이 블록은 트랜잭션이 성공적으로 DB에 커밋된 후에만 호출됩니다.
-                    sendSseNotification(order, symbol);
+        });
+    }
+    
+    /**
+     * 레인에 배치 제출 - 레인 큐가 가득 차면 자리가 날 때까지 물러났다가 다시 시도 (소비 스레드가 직접 실행하지 않음)
+     * 종료 중이거나 인터럽트되면 처리 중 목록의 메시지를 큐의 꺼내는 쪽(오른쪽)에 되돌려 다음 소비 때 먼저 처리되게 함
+     */
+    private CompletableFuture<Void> submitToLane(int lane, List<ExecutionRequest> requests) {
+        long backoffMs = 1;
+        while (true) {
+            try {
+                return userCommandLanes.submit(lane, () -> {
+                    executeBatch(requests);
+                    return null;
+                });
+            } catch (IllegalStateException e) {
+                if (isShuttingDown.get() || Thread.currentThread().isInterrupted()) {
+                    requeue(requests);
+                    return CompletableFuture.completedFuture(null);
+                }
+                laneFullCounter.increment();
+                log.debug("Lane {} is full, retrying {} orders in {} ms", lane, requests.size(), backoffMs);
+                sleepQuietly(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, LANE_FULL_MAX_BACKOFF_MS);
+            }
+        }
+    }
+    
+    private void requeue(List<ExecutionRequest> requests) {
+        // 오른쪽에서 꺼내므로 역순으로 RPUSH 해야 원래 순서대로 다시 꺼내짐
+        byte[][] messages = new byte[requests.size()][];
+        for (int i = 0; i < requests.size(); i++) {
+            messages[i] = requests.get(requests.size() - 1 - i).message();
+        }
+        try {
+            Long returned = executionQueueRedisTemplate.execute(REQUEUE_SCRIPT,
+                    List.of(processingKey, executionQueueKey), (Object[]) messages);
+            log.info("Returned {} execution messages to the queue", returned);
+        } catch (Exception e) {
+            // 처리 중 목록에 남아 있으므로 하트비트 만료 후 다른 노드가 되돌림
+            log.error("Failed to return execution messages to the queue: {}",
+                    requests.stream().map(ExecutionRequest::orderId).toList(), e);
+        }
+    }
+    
+    private Map<Integer, List<ExecutionRequest>> groupByLane(List<ExecutionRequest> requests) {
+        Map<Integer, Integer> ownerByOrder = new HashMap<>();
+        try {
+            List<Integer> orderIds = requests.stream().map(ExecutionRequest::orderId).toList();
+            for (OrderOwnerProjection owner : orderRepository.findOwnersByIdIn(orderIds)) {
+                ownerByOrder.put(owner.getId(), owner.getUserId());
+            }
+        } catch (Exception e) {
+            // 조회 실패 시 한 레인에서 순서대로 실행
+            log.warn("Failed to resolve order owners, executing batch on a single lane", e);
+        }
+        Map<Integer, List<ExecutionRequest>> byLane = new HashMap<>();
+        for (ExecutionRequest request : requests) {
+            int lane = userCommandLanes.laneOf(ownerByOrder.get(request.orderId()));
+            byLane.computeIfAbsent(lane, k -> new ArrayList<>()).add(request);
+        }
+        return byLane;
+    }
+    
+    private void executeBatch(List<ExecutionRequest> requests) {
+        try {
+            // 레인 배치 전체를 하나의 트랜잭션으로 처리
+            transactionTemplate.executeWithoutResult(status -> {
+                for (ExecutionRequest request : requests) {
+                    executeOrder(request.orderId(), request.executionPrice());
                 }
             });
-            
-            log.info("Order executed: {} at price {} for user {}",
-                    orderId, executionPrice, order.getUser().getId());
-            
+            acknowledge(messagesOf(requests));
         } catch (Exception e) {
-            log.error("Failed to execute order: {}", orderId, e);
+            // 커밋 실패 시 건별 트랜잭션으로 재시도
+            log.warn("Batch execution of {} orders failed, retrying one by one", requests.size(), e);
+            for (ExecutionRequest request : requests) {
+                try {
+                    // 락 충돌은 정산 재시도 정책에 따라 다시 실행
+                    settlementRunner.execute(status -> {
+                        executeOrder(request.orderId(), request.executionPrice());
+                        return null;
+                    });
+                } catch (Exception ex) {
+                    log.error("Failed to execute order: {}", request.orderId(), ex);
+                    handleFailure(request.orderId());
+                }
+            }
+            // 체결 / 복원 / dead-letter 중 하나로 결과가 정해졌으므로 메시지 제거
+            acknowledge(messagesOf(requests));
+        }
+    }
+    
+    private static List<byte[]> messagesOf(List<ExecutionRequest> requests) {
+        return requests.stream().map(ExecutionRequest::message).toList();
+    }
+    
+    /**
+     * 실패 횟수가 한도 미만이면 되돌리고, 한도에 닿으면 dead-letter 로 옮김
+     * (매번 같은 이유로 실패하는 주문이 시세마다 선점 / 실패 / 복원을 반복하는 것 방지)
+     */
+    private void handleFailure(Integer orderId) {
+        long attempts = orderMirror.recordFailure(orderId);
+        if (attempts >= maxAttempts) {
+            orderMirror.deadLetter(orderId);
+            deadLetteredCounter.increment();
+            log.error("Order {} failed execution {} times, moved to dead letter", orderId, attempts);
+            return;
         }
+        restoreAfterFailure(orderId);
+    }
+    
+    /**
+     * 체결에 실패한 주문을 오더북 / Redis 미러로 되돌리고 선점 표시 해제 (다음 시세에 다시 체결 대상이 됨)
+     */
+    private void restoreAfterFailure(Integer orderId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    orderRepository.findByIdAndStatus(orderId, Status.PENDING).ifPresent(order -> {
+                        String symbol = order.getCoin().getSymbol();
+                        orderBookRegistry.add(orderId, symbol, order.getOrderType(), order.getReservePrice());
+                        orderMirror.save(order, symbol);
+                    }));
+        } catch (Exception e) {
+            log.error("Failed to restore order {} after a failed execution", orderId, e);
+        } finally {
+            orderMirror.releaseClaim(orderId);
+        }
+    }
+    
+    static ExecutionRequest decodeExecutionMessage(byte[] message) {
+        if (ExecutionMessageCodec.isSupported(message)) {
+            return new ExecutionRequest(
+                    ExecutionMessageCodec.orderId(message),
+                    ExecutionMessageCodec.executionPrice(message),
+                    ExecutionMessageCodec.queuedAt(message),
+                    message);
+        }
+        // 바이너리 포맷 배포 이전에 쌓인 JSON 문자열 메시지("id:price:millis") 호환
+        return parseLegacyExecutionMessage(message);
+    }
+    
+    private static ExecutionRequest parseLegacyExecutionMessage(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        String message = new String(bytes, StandardCharsets.UTF_8).replace("\"", "");
+        String[] parts = message.split(":");
+        if (parts.length < 3) {
+            log.warn("Invalid execution message: {}", message);
+            return null;
+        }
+        try {
+            return new ExecutionRequest(
+                    Integer.parseInt(parts[0]),
+                    Double.parseDouble(parts[1]),
+                    Long.parseLong(parts[2]),
+                    bytes);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid execution message: {}", message);
+            return null;
+        }
+    }
+    
+    private void refreshBacklog() {
+        long now = System.currentTimeMillis();
+        if (now - lastBacklogRefreshAt < BACKLOG_REFRESH_INTERVAL_MS) {
+            return;
+        }
+        lastBacklogRefreshAt = now;
+        Long size = executionQueueRedisTemplate.opsForList().size(executionQueueKey);
+        queueBacklog.set(size != null ? size : 0);
+    }
+    
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private byte[] processingKeyOf(String id) {
+        return utf8(executionQueueName + ":processing:" + id);
+    }
+    
+    private byte[] heartbeatKeyOf(String id) {
+        return utf8(executionQueueName + ":consumer:" + id);
+    }
+    
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    // message: 처리 중 목록에서 LREM 할 때 쓰는 원본 바이트
+    record ExecutionRequest(Integer orderId, double executionPrice, long queuedAt, byte[] message) {
+    }
+    
+    /**
+     * 예약 주문 체결 (호출자의 트랜잭션 안에서 실행)
+     * - 정산 / 이벤트 발행 중 예외는 그대로 던져 트랜잭션 전체를 롤백
+     *   (COMPLETED 상태만 커밋되고 현금 / 자산 정산이 빠지는 것 방지 - 배치는 건별 재시도, 락 충돌은 재실행)
+     */
+    public void executeOrder(Integer orderId, double executionPrice) {
+        Optional<Order> orderOpt = orderRepository.findByIdAndStatus(orderId, Status.PENDING);
+        if (orderOpt.isEmpty()) {
+            log.debug("Order not found or not pending: {}", orderId);
+            orderMirror.completeExecution(orderId);
+            return;
+        }
+        
+        Order order = orderOpt.get();
+        order.setStatus(Status.COMPLETED);
+        order.setTradePrice(executionPrice);
+        order.setUpdatedAt(LocalDateTime.now());
+        
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderCreatedEvent(this, order));
+        
+        int userId = order.getUser().getId();
+        OrderType orderType = order.getOrderType();
+        String symbol = coinRepository.findById(order.getCoin().getId())
+                .map(Coin::getSymbol)
+                .orElse("Unknown");
+        double amount = order.getAmount();
+        
+        // 유저 현금 / 자산 정산 (잔액과 보유 수량은 예약 시점에 확인됨)
+        int cash = (int) (executionPrice * amount);
+        if (orderType == OrderType.BUY) {
+            balanceSettlement.buy(userId, order.getCoin(), cash, amount, executionPrice * amount, false);
+        } else if (orderType == OrderType.SELL) {
+            balanceSettlement.sell(userId, order.getCoin(), cash, amount, false);
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 이 블록은 트랜잭션이 성공적으로 DB에 커밋된 후에만 호출됩니다.
+                reservationLedger.release(orderId);
+                orderMirror.completeExecution(orderId);
+                sendSseNotification(order, symbol);
+            }
+        });
+        
+        log.info("Order executed: {} at price {} for user {}",
+                orderId, executionPrice, order.getUser().getId());
     }
     
     /**
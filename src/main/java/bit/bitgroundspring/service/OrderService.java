@@ -6,7 +6,11 @@ import bit.bitgroundspring.dto.response.Message;
 import bit.bitgroundspring.dto.response.MessageType;
 import bit.bitgroundspring.dto.response.NotificationResponse;
 import bit.bitgroundspring.entity.*;
+import bit.bitgroundspring.matching.OrderBookRegistry;
+import bit.bitgroundspring.matching.OrderMirror;
 import bit.bitgroundspring.repository.*;
+import bit.bitgroundspring.settlement.ReservationLedger;
+import bit.bitgroundspring.settlement.UserCommandLanes;
 import bit.bitgroundspring.util.UserSseEmitters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,9 +19,10 @@ import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,15 +42,17 @@ public class OrderService {
     private final UserSseEmitters userSseEmitters;
     private final UserRepository userRepository;
     private final UserAssetRepository userAssetRepository;
+    private final OrderBookRegistry orderBookRegistry;
+    private final OrderMirror orderMirror;
+    private final UserCommandLanes userCommandLanes;
+    private final ReservationLedger reservationLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final SeasonRolloverService seasonRolloverService;
 
     public List<OrderProjection> getOrdersBySeason(Integer seasonId, Integer userId) {
         return orderRepository.findBySeasonIdAndUserId(seasonId, userId);
     }
 
-    public List<TradeDto> getRecentTrades(String symbol) {
-        return orderRepository.findTop30ByCoinSymbolAndStatus(symbol, Status.COMPLETED);
-    }
-
     public List<TradeSummaryDto> getTradeSummary(User user, Season season) {
         List<Order> orders = orderRepository.findByUserAndSeason(user, season);
 
@@ -131,11 +138,14 @@ public class OrderService {
     }
     
     
-    // 예약 주문 생성 메서드
-    @Transactional
+    // 예약 주문 생성 메서드 (잔액 / 보유 수량 확인이 다른 정산과 겹치지 않도록 사용자 레인에서 실행)
     public Order createReserveOrder(CreateOrderRequest request) {
         validateOrderRequest(request);
-        
+        return userCommandLanes.call(request.getUserId(),
+                () -> transactionTemplate.execute(status -> doCreateReserveOrder(request)));
+    }
+    
+    private Order doCreateReserveOrder(CreateOrderRequest request) {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
@@ -149,6 +159,18 @@ public class OrderService {
             throw new IllegalArgumentException("Cannot trade deleted symbol");
         }
         
+        // 예약 한도: 매수는 보유 현금, 매도는 보유 수량
+        double limit;
+        if (request.getOrderType() == OrderType.SELL) {
+            Optional<UserAsset> userAsset = userAssetRepository.findByUserAndCoinWithLock(user, coin);
+            if (userAsset.isEmpty()) {
+                throw new IllegalArgumentException("매도 가능한 자산이 없습니다.");
+            }
+            limit = userAsset.get().getAmount();
+        } else {
+            limit = user.getCash();
+        }
+        
         Order order = Order.builder()
                 .user(user)
                 .season(season)
@@ -159,24 +181,33 @@ public class OrderService {
                 .status(Status.PENDING)
                 .build();
         
-        // 주문 유효성 검사
-        if (request.getOrderType() == OrderType.BUY) {
-            Integer totalReservePrice = orderRepository.calculateTotalReservePriceForBuyOrdersByUserId(user.getId());
-            if (totalReservePrice != null && totalReservePrice + request.getAmount() * request.getReservePrice() > user.getCash()) {
-                throw new IllegalArgumentException("예약 주문 금액이 잔액을 초과합니다.");
-            }
-        } else if (request.getOrderType() == OrderType.SELL) {
-            Optional<UserAsset> userAsset = userAssetRepository.findByUserAndCoinWithLock(user, coin);
-            if (userAsset.isEmpty()) {
-                throw new IllegalArgumentException("매도 가능한 자산이 없습니다.");
+        Order savedOrder = orderRepository.save(order);
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 커밋 이후에 오더북에 등록 (커밋 전 체결되어 주문을 찾지 못하는 경우 방지)
+                orderBookRegistry.add(savedOrder.getId(), coin.getSymbol(),
+                        savedOrder.getOrderType(), savedOrder.getReservePrice());
             }
-            if (userAsset.get().getAmount() < request.getAmount()) {
-                throw new IllegalArgumentException("매도 가능한 자산이 부족합니다.");
+            
+            @Override
+            public void afterCompletion(int status) {
+                // 예약 장부에 반영한 뒤 롤백되면 되돌림 (반영 전 실패여도 해제는 무해)
+                if (status == STATUS_ROLLED_BACK) {
+                    reservationLedger.release(savedOrder.getId());
+                }
             }
+        });
+        
+        // 주문 유효성 검사 - 기존 예약 합계 확인과 이번 예약 반영을 예약 장부(Redis) 에서 한 번에 처리
+        if (!reservationLedger.tryReserve(savedOrder.getId(), user.getId(), coin.getId(), savedOrder.getOrderType(),
+                savedOrder.getReservePrice(), savedOrder.getAmount(), limit)) {
+            throw new IllegalArgumentException(request.getOrderType() == OrderType.BUY
+                    ? "예약 주문 금액이 잔액을 초과합니다." : "매도 가능한 자산이 부족합니다.");
         }
         
-        Order savedOrder = orderRepository.save(order);
-        saveOrderToRedis(savedOrder, coin.getSymbol());
+        orderMirror.save(savedOrder, coin.getSymbol());
         
         log.info("Created reserve order: {} for user: {}", savedOrder.getId(), savedOrder.getUser().getId());
         return savedOrder;
@@ -200,43 +231,6 @@ public class OrderService {
         }
     }
     
-    private void saveOrderToRedis(Order order, String symbol) {
-        try {
-            String orderId = String.valueOf(order.getId());
-
-            OrderRedisDto orderDto = OrderRedisDto.builder()
-                    .id(order.getId())
-                    .userId(order.getUser().getId())
-                    .symbolId(order.getCoin().getId())
-                    .symbol(symbol)
-                    .orderType(order.getOrderType())
-                    .amount(order.getAmount())
-                    .reservePrice(order.getReservePrice())
-                    .status(order.getStatus())
-                    .createdAt(order.getCreatedAt())
-                    .build();
-            
-            // 수정: 파이프라인 사용으로 성능 개선
-            redisTemplate.executePipelined(new SessionCallback<Object>() {
-                @Override
-                public Object execute(RedisOperations operations) throws DataAccessException {
-                    operations.opsForValue().set("order:" + orderId, orderDto, Duration.ofDays(30));
-
-                    String orderTypeKey = order.getOrderType() == OrderType.BUY ?
-                            "buy_orders:" + symbol : "sell_orders:" + symbol;
-                    operations.opsForZSet().add(orderTypeKey, orderId, order.getReservePrice());
-                    operations.expire(orderTypeKey, Duration.ofDays(30));
-                    
-                    return null;
-                }
-            });
-            
-        } catch (Exception e) {
-            log.error("Failed to save order to Redis: {}", order.getId(), e);
-            // 수정: 예외 발생해도 서비스 계속 진행
-        }
-    }
-    
     public void cancelOrder(Integer orderId, Integer userId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
@@ -251,7 +245,10 @@ public class OrderService {
         
         orderRepository.delete(order);
         
+        orderBookRegistry.remove(order.getId());
+        reservationLedger.release(order.getId());
         removeOrderFromRedis(order);
+        orderMirror.forget(order.getId());
         
         log.info("Cancelled order: {} by user: {}", orderId, userId);
     }
@@ -285,19 +282,18 @@ public class OrderService {
         // 대부분의 로직은 go serverless로 처리, 나머지 것들을 수행하자
 
         if (seasonFlag.equals("season")) {
-            // redis에 저장된 예약 주문 목록 제거
-            List<Order> pendingOrders = orderRepository.findByStatus(Status.PENDING);
-            if (pendingOrders.isEmpty()) {
-                log.info("No pending orders to process for season update");
-            }
-            for (Order order : pendingOrders) {
-                try {
-                    removeOrderFromRedis(order);
-                    log.info("Removed pending order {} from Redis", order.getId());
-                } catch (Exception e) {
-                    log.error("Failed to remove pending order {} from Redis: {}", order.getId(), e.getMessage());
-                }
+            // redis에 저장된 예약 주문 목록 일괄 제거
+            try {
+                SeasonRolloverService.RolloverReport report = seasonRolloverService.clearPendingOrderMirror();
+                log.info("Cleared Redis reservation mirror for season update: {} orders, {} order books, {} keys unlinked in {} ms",
+                        report.orders(), report.orderBooks(), report.keysUnlinked(), report.durationMs());
+            } catch (Exception e) {
+                log.error("Failed to clear Redis reservation mirror for season update", e);
             }
+            
+            // 인메모리 오더북 / 예약 장부도 현재 시즌 기준으로 재구성
+            orderBookRegistry.rebuild();
+            reservationLedger.rebuild();
         }
 
         // 사용자에게 시즌 종료 / 스플릿 업데이트 알림 전송
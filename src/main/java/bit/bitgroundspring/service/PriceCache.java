@@ -0,0 +1,70 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.market.SymbolRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 심볼별 최신 체결가 캐시 (업비트 웹소켓 시세로 갱신)
+ * - 심볼 ID 로 인덱싱한 원시 배열에 저장하므로 조회/갱신 모두 락 없이 O(1)
+ * - 가격이 없으면 NaN, 갱신 시각이 없으면 0
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceCache {
+
+    private final SymbolRegistry symbolRegistry;
+
+    private final AtomicLongArray prices = new AtomicLongArray(SymbolRegistry.MAX_SYMBOLS);      // double bits
+    private final AtomicLongArray updatedAts = new AtomicLongArray(SymbolRegistry.MAX_SYMBOLS);  // epoch millis
+
+    public void update(String symbol, double price) {
+        update(symbolRegistry.register(symbol), price, System.currentTimeMillis());
+    }
+
+    public void update(int symbolId, double price, long updatedAt) {
+        if (symbolId < 0 || !(price > 0)) {
+            return;
+        }
+        prices.set(symbolId, Double.doubleToRawLongBits(price));
+        updatedAts.set(symbolId, updatedAt);
+    }
+
+    public double getLastPrice(String symbol) {
+        int symbolId = symbolRegistry.idOf(symbol);
+        if (symbolId < 0 || updatedAts.get(symbolId) == 0) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(prices.get(symbolId));
+    }
+
+    public long getUpdatedAt(String symbol) {
+        int symbolId = symbolRegistry.idOf(symbol);
+        return symbolId < 0 ? 0 : updatedAts.get(symbolId);
+    }
+
+    /**
+     * 마지막 갱신 이후 경과 시간 (한 번도 갱신되지 않았으면 Long.MAX_VALUE)
+     */
+    public long getStalenessMillis(String symbol) {
+        long updatedAt = getUpdatedAt(symbol);
+        return updatedAt == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - updatedAt;
+    }
+
+    /**
+     * maxStalenessMillis 이내에 갱신된 가격만 반환, 아니면 NaN
+     */
+    public double getFreshPrice(String symbol, long maxStalenessMillis) {
+        int symbolId = symbolRegistry.idOf(symbol);
+        if (symbolId < 0) {
+            return Double.NaN;
+        }
+        long updatedAt = updatedAts.get(symbolId);
+        if (updatedAt == 0 || System.currentTimeMillis() - updatedAt > maxStalenessMillis) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(prices.get(symbolId));
+    }
+}
@@ -1,21 +1,28 @@
 package bit.bitgroundspring.service;
 
 import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.matching.MatchingPipeline;
+import bit.bitgroundspring.matching.OrderBookRegistry;
+import bit.bitgroundspring.matching.OrderMirror;
 import io.lettuce.core.RedisException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
-import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.SessionCallback;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.*;
 
 @Service
@@ -24,14 +31,79 @@ import java.util.concurrent.*;
 public class PriceUpdateService {
     
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     private final OrderExecutionService orderExecutionService;
+    private final OrderBookRegistry orderBookRegistry;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${matching.pipeline.shards:4}")
+    private int shardCount;
+    
+    @Value("${matching.pipeline.ring-capacity:1024}")
+    private int ringCapacity;
+    
+    @Value("${upbit.order.execution.queue}")
+    private String executionQueueName;
+    
+    // 선점 표시(order:claim:{id}) 유지 시간 - 유실 대비 안전장치, ClaimSweeper 의 되돌림 기준(claim-stale-seconds) 보다 길게
+    @Value("${matching.claim-ttl-seconds:600}")
+    private long claimTtlSeconds;
+    
+    /**
+     * 체결 대상 주문 원자적 선점 (심볼 / 방향 / 현재가 단위로 한 번 호출)
+     * KEYS[1] = buy_orders:{symbol} 또는 sell_orders:{symbol}, KEYS[2] = 실행 큐, KEYS[3] = 선점 목록(order:claims)
+     * ARGV[1] = 현재가, ARGV[2] = BUY | SELL, ARGV[3] = 큐 적재 시각(ms), ARGV[4] = 선점 표시 TTL(초), ARGV[5..] = 로컬 오더북 후보
+     * - Redis 미러의 체결 대상(ZRANGEBYSCORE) + 로컬 후보를 합쳐 SET NX 로 선점한 주문만
+     *   ZREM / DEL order:{id} / 선점 목록에 ZADD / LPUSH 실행 메시지(ExecutionMessageCodec 포맷) 후 ID 반환
+     * - ZSET 멤버는 Jackson 직렬화로 따옴표가 붙어 있으므로 제거 후 사용
+     * - 선점 표시는 체결 커밋 후 / 체결 실패로 주문을 되돌릴 때 OrderExecutionService 가 지움
+     *   (실행 메시지가 유실되어 남은 선점은 ClaimSweeper 가 되돌리고, TTL 은 그마저 실패할 때의 안전장치)
+     * - order:{id} / order:claim:{id} 는 ZRANGEBYSCORE 결과에서 정해지므로 KEYS 로 미리 넘길 수 없음
+     *   → 단일 Redis 노드(standalone / sentinel) 전제, Redis Cluster 에서는 사용 불가
+     */
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local members
+            if ARGV[2] == 'BUY' then
+                members = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], '+inf')
+            else
+                members = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+            end
+            local ids = {}
+            for _, member in ipairs(members) do
+                ids[#ids + 1] = (string.gsub(member, '"', ''))
+            end
+            for i = 5, #ARGV do
+                ids[#ids + 1] = ARGV[i]
+            end
+            local price = tonumber(ARGV[1])
+            local queuedAt = tonumber(ARGV[3])
+            local claimed = {}
+            for _, id in ipairs(ids) do
+                if redis.call('SET', 'order:claim:' .. id, '1', 'NX', 'EX', ARGV[4]) then
+                    redis.call('ZREM', KEYS[1], '"' .. id .. '"')
+                    redis.call('DEL', 'order:' .. id)
+                    redis.call('ZADD', KEYS[3], queuedAt, id)
+                    redis.call('LPUSH', KEYS[2], struct.pack('>Bi4di8', 1, tonumber(id), price, queuedAt))
+                    claimed[#claimed + 1] = tonumber(id)
+                end
+            end
+            return claimed
+            """, List.class);
     
     // 변경: ConcurrentHashMap을 사용하여 심볼별 최신 가격만 저장
     private final ConcurrentMap<String, Double> priceUpdateMap = new ConcurrentHashMap<>();
     private ScheduledExecutorService scheduledExecutorService;
+    private MatchingPipeline matchingPipeline;
+    private Counter claimedCounter;
+    private Counter contendedCounter;
     
     @PostConstruct
     private void init() {
+        // 심볼별 단일 스레드 체결 파이프라인 시작
+        matchingPipeline = new MatchingPipeline(shardCount, ringCapacity, this::checkAndExecuteOrders);
+        matchingPipeline.start();
+        registerPipelineMetrics();
+        
         // 주기적으로 Redis에 데이터를 쓰는 스케줄러 초기화
         scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
         scheduledExecutorService.scheduleAtFixedRate(this::flushPricesToRedis, 100, 100, TimeUnit.MILLISECONDS);
@@ -39,16 +111,37 @@ public class PriceUpdateService {
     
     @PreDestroy
     private void shutdown() {
+        if (matchingPipeline != null) {
+            matchingPipeline.shutdown();
+        }
         if (scheduledExecutorService != null) {
             scheduledExecutorService.shutdown();
         }
     }
     
     // 변경: 큐 대신 Map에 바로 최신 가격을 덮어씀
-    @Async("priceUpdateTaskExecutor")
-    public CompletableFuture<Void> updatePrice(String symbol, double currentPrice) {
+    // 체결 검사는 심볼이 배정된 샤드 스레드에서 순서대로 처리 (호출 스레드는 대기하지 않음)
+    public void updatePrice(String symbol, double currentPrice) {
         priceUpdateMap.put(symbol, currentPrice);
-        return checkAndExecuteOrdersAsync(symbol, currentPrice);
+        matchingPipeline.submit(symbol, currentPrice);
+    }
+    
+    private void registerPipelineMetrics() {
+        Gauge.builder("matching.pipeline.backlog", matchingPipeline, MatchingPipeline::getBacklog)
+                .description("Symbols waiting in matching shard ring buffers")
+                .register(meterRegistry);
+        FunctionCounter.builder("matching.pipeline.ticks.submitted", matchingPipeline, MatchingPipeline::getSubmittedTicks)
+                .register(meterRegistry);
+        FunctionCounter.builder("matching.pipeline.ticks.coalesced", matchingPipeline, MatchingPipeline::getCoalescedTicks)
+                .register(meterRegistry);
+        FunctionCounter.builder("matching.pipeline.ticks.dropped", matchingPipeline, MatchingPipeline::getDroppedTicks)
+                .register(meterRegistry);
+        claimedCounter = Counter.builder("matching.claim.claimed")
+                .description("Orders claimed and queued for execution by this node")
+                .register(meterRegistry);
+        contendedCounter = Counter.builder("matching.claim.contended")
+                .description("Local crossing candidates already claimed elsewhere")
+                .register(meterRegistry);
     }
     
     // 스케줄러에 의해 주기적으로 실행될 메서드
@@ -76,59 +169,55 @@ public class PriceUpdateService {
     }
     
     
-    @Async("priceUpdateTaskExecutor")
-    public CompletableFuture<Void> checkAndExecuteOrdersAsync(String symbol, double currentPrice) {
-        try {
-            processOrdersForType(symbol, currentPrice, OrderType.BUY);
-            processOrdersForType(symbol, currentPrice, OrderType.SELL);
-            
-            return CompletableFuture.completedFuture(null);
-        } catch (Exception e) {
-            log.error("Error processing orders for symbol: {}", symbol, e);
-            return CompletableFuture.failedFuture(e);
-        }
+    // 샤드 스레드에서만 호출됨
+    private void checkAndExecuteOrders(String symbol, double currentPrice) {
+        processOrdersForType(symbol, currentPrice, OrderType.BUY);
+        processOrdersForType(symbol, currentPrice, OrderType.SELL);
     }
+    
     private void processOrdersForType(String symbol, double currentPrice, OrderType orderType) {
-        String orderTypeKey = (orderType == OrderType.BUY ? "buy_orders:" : "sell_orders:") + symbol;
-        Set<Object> orderIds;
+        // 인메모리 오더북에서 체결 후보 조회 (네트워크 I/O 없음) - 후보가 없으면 Redis 호출도 없음
+        List<Integer> candidates = orderBookRegistry.pollCrossing(symbol, orderType, currentPrice);
+        if (candidates.isEmpty()) {
+            return;
+        }
         
-        if (orderType == OrderType.SELL) {
-            orderIds = redisTemplate.opsForZSet().rangeByScore(orderTypeKey, 0, currentPrice);
-        } else {
-            orderIds = redisTemplate.opsForZSet().rangeByScore(orderTypeKey, currentPrice, Double.MAX_VALUE);
+        // Redis 에서 원자적으로 선점 + 실행 큐 적재 (한 번의 왕복)
+        String orderTypeKey = OrderMirror.bookKey(orderType, symbol);
+        Object[] args = new Object[4 + candidates.size()];
+        args[0] = Double.toString(currentPrice);
+        args[1] = orderType.name();
+        args[2] = Long.toString(System.currentTimeMillis());
+        args[3] = Long.toString(claimTtlSeconds);
+        for (int i = 0; i < candidates.size(); i++) {
+            args[4 + i] = String.valueOf(candidates.get(i));
         }
         
-        if (orderIds == null || orderIds.isEmpty()) {
+        List<Long> claimed;
+        try {
+            claimed = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(orderTypeKey, executionQueueName, OrderMirror.CLAIMS_KEY), args);
+        } catch (Exception e) {
+            // Redis 스크립트 실패 시 기존 방식으로 큐에 넣음 (중복 실행은 DB 의 PENDING 상태 확인으로 걸러짐)
+            log.error("Failed to claim crossing orders for {} {}, queueing locally: {}", symbol, orderType, candidates, e);
+            for (Integer orderId : candidates) {
+                orderExecutionService.queueOrderExecution(orderId, currentPrice);
+            }
             return;
         }
+        if (claimed == null) {
+            claimed = List.of();
+        }
         
-        for (Object orderIdObj : orderIds) {
-            try {
-                String orderId = orderIdObj.toString();
-                
-                // 주문 정보가 존재하는지 확인 (객체로 저장된 경우)
-                Object orderObj = redisTemplate.opsForValue().get("order:" + orderId);
-                if (orderObj != null) {
-                    orderExecutionService.queueOrderExecution(Integer.parseInt(orderId), currentPrice);
-                    
-                    // Redis에서 주문 제거
-                    redisTemplate.execute(new SessionCallback<Object>() {
-                        @Override
-                        public Object execute(RedisOperations operations) throws DataAccessException {
-                            operations.multi();
-                            operations.opsForZSet().remove(orderTypeKey, orderId);
-                            operations.delete("order:" + orderId);
-                            return operations.exec();
-                        }
-                    });
-                }
-            } catch (NumberFormatException e) {
-                log.error("Invalid order ID format: {}", orderIdObj, e);
-            } catch (Exception e) {
-                log.error("Error processing order {}", orderIdObj, e);
+        // 다른 노드에서 생성되어 Redis 에서 함께 선점된 주문은 이 노드 오더북에도 남아 있을 수 있으므로 제거
+        int claimedCandidates = 0;
+        for (Long orderId : claimed) {
+            if (candidates.contains(orderId.intValue())) {
+                claimedCandidates++;
+            } else {
+                orderBookRegistry.remove(orderId.intValue());
             }
         }
+        claimedCounter.increment(claimed.size());
+        contendedCounter.increment(candidates.size() - claimedCandidates);
     }
 }
-
-
@@ -0,0 +1,222 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.dto.TradeDto;
+import bit.bitgroundspring.dto.projection.RecentTradeProjection;
+import bit.bitgroundspring.entity.Status;
+import bit.bitgroundspring.event.OrderCreatedEvent;
+import bit.bitgroundspring.event.OrderEventMetrics;
+import bit.bitgroundspring.market.SymbolRegistry;
+import bit.bitgroundspring.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 심볼별 최근 체결 내역 (메모리 링 버퍼)
+ * - 심볼을 처음 조회할 때 DB 에서 최근 window-size 건만 읽어 채우고, 이후에는 커밋된 OrderCreatedEvent 로 추가
+ * - 커밋 후 비동기로 도착하는 이벤트가 DB 에서 이미 읽은 체결일 수 있으므로, 링에 주문 ID 를 함께 두고 중복은 건너뜀
+ * - 추가될 때마다 불변 Window 로 교체하므로 조회는 락 없이 volatile 읽기 한 번
+ * - Window 의 JSON 은 처음 요청될 때 한 번 만들고 다음 체결 전까지 재사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecentTradeService {
+
+    private final OrderRepository orderRepository;
+    private final SymbolRegistry symbolRegistry;
+    private final ObjectMapper objectMapper;
+    private final OrderEventMetrics orderEventMetrics;
+
+    @Value("${trade.recent.window-size:30}")
+    private int windowSize;
+
+    // 심볼 ID → 링 버퍼
+    private final AtomicReferenceArray<RecentTrades> bySymbol = new AtomicReferenceArray<>(SymbolRegistry.MAX_SYMBOLS);
+
+    /**
+     * 최근 체결 목록 (최신순, 불변)
+     */
+    public List<TradeDto> getRecentTrades(String symbol) {
+        RecentTrades trades = holderOf(symbol);
+        return trades == null ? loadFromDb(symbol) : trades.window().trades();
+    }
+
+    /**
+     * 최근 체결 목록의 JSON 배열 (다음 체결 전까지 같은 문자열 재사용)
+     */
+    public String getRecentTradesJson(String symbol) {
+        RecentTrades trades = holderOf(symbol);
+        return trades == null ? toJson(loadFromDb(symbol)) : trades.window().json();
+    }
+
+    @Async("orderEventTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (event.getStatus() != Status.COMPLETED) {
+            return;
+        }
+        orderEventMetrics.record("recent-trades", event, () -> append(event));
+    }
+
+    private void append(OrderCreatedEvent event) {
+        int id = symbolRegistry.idOf(event.getSymbol());
+        if (id < 0) {
+            return;
+        }
+        // 아직 조회된 적 없는 심볼은 첫 조회 때 DB 에서 채우므로 건너뜀
+        RecentTrades trades = bySymbol.get(id);
+        if (trades != null) {
+            trades.append(event.getOrderId(), event.getTrade());
+        }
+    }
+
+    /**
+     * 심볼의 링 버퍼 (처음이면 DB 에서 채움), 등록되지 않은 심볼은 null
+     */
+    private RecentTrades holderOf(String symbol) {
+        int id = symbolRegistry.idOf(symbol);
+        if (id < 0) {
+            return null;
+        }
+        RecentTrades trades = bySymbol.get(id);
+        if (trades == null) {
+            bySymbol.compareAndSet(id, null, new RecentTrades(symbol));
+            trades = bySymbol.get(id);
+        }
+        trades.ensureSeeded();
+        return trades;
+    }
+
+    private List<TradeDto> loadFromDb(String symbol) {
+        return orderRepository.findRecentTrades(symbol, Status.COMPLETED, PageRequest.of(0, windowSize));
+    }
+
+    private String toJson(List<TradeDto> trades) {
+        try {
+            return objectMapper.writeValueAsString(trades);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("최근 체결 내역 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * 게시된 최근 체결 (최신순) - JSON 은 처음 요청 시 만들어 둠
+     */
+    private final class Window {
+
+        private final List<TradeDto> trades;
+        private volatile String json;
+
+        private Window(List<TradeDto> trades) {
+            this.trades = trades;
+        }
+
+        private List<TradeDto> trades() {
+            return trades;
+        }
+
+        private String json() {
+            String cached = json;
+            if (cached == null) {
+                // 동시에 만들어져도 결과가 같으므로 경쟁은 무시
+                cached = toJson(trades);
+                json = cached;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * 심볼 하나의 고정 크기 링 버퍼 (쓰기는 this 로 동기화, 읽기는 window 만 사용)
+     */
+    private final class RecentTrades {
+
+        private final String symbol;
+        private final TradeDto[] ring;
+        private final Integer[] orderIds;               // ring 과 같은 위치의 주문 ID
+        private final Set<Integer> inWindow = new HashSet<>();
+        private int head = 0;   // 다음에 쓸 위치
+        private int count = 0;
+        private volatile boolean seeded = false;
+
+        private volatile Window window = new Window(List.of());
+
+        private RecentTrades(String symbol) {
+            this.symbol = symbol;
+            this.ring = new TradeDto[windowSize];
+            this.orderIds = new Integer[windowSize];
+        }
+
+        private Window window() {
+            return window;
+        }
+
+        private void ensureSeeded() {
+            if (seeded) {
+                return;
+            }
+            synchronized (this) {
+                if (seeded) {
+                    return;
+                }
+                List<RecentTradeProjection> latest = orderRepository.findRecentTradeEntries(
+                        symbol, Status.COMPLETED, PageRequest.of(0, windowSize));
+                // DB 결과는 최신순이므로 오래된 것부터 넣음
+                for (int i = latest.size() - 1; i >= 0; i--) {
+                    RecentTradeProjection entry = latest.get(i);
+                    push(entry.getId(), new TradeDto(entry.getSymbol(), entry.getKoreanName(), entry.getOrderType(),
+                            entry.getAmount(), entry.getTradePrice(), entry.getCreatedAt(), entry.getUpdatedAt()));
+                }
+                publish();
+                seeded = true;
+            }
+        }
+
+        private synchronized void append(Integer orderId, TradeDto trade) {
+            if (!seeded) {
+                return; // 채우는 중 실패한 경우 - 다음 조회 때 DB 에서 다시 채움
+            }
+            if (orderId != null && inWindow.contains(orderId)) {
+                return; // DB 에서 채울 때 이미 읽은 체결
+            }
+            push(orderId, trade);
+            publish();
+        }
+
+        private void push(Integer orderId, TradeDto trade) {
+            if (count == ring.length) {
+                inWindow.remove(orderIds[head]); // 가장 오래된 항목이 밀려남
+            }
+            ring[head] = trade;
+            orderIds[head] = orderId;
+            if (orderId != null) {
+                inWindow.add(orderId);
+            }
+            head = (head + 1) % ring.length;
+            if (count < ring.length) {
+                count++;
+            }
+        }
+
+        private void publish() {
+            List<TradeDto> newestFirst = new ArrayList<>(count);
+            for (int i = 1; i <= count; i++) {
+                newestFirst.add(ring[(head - i + ring.length) % ring.length]);
+            }
+            window = new Window(List.copyOf(newestFirst));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.dto.projection.PendingOrderKeyProjection;
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.entity.Status;
+import bit.bitgroundspring.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 시즌 전환 시 Redis 예약 주문 미러 일괄 정리
+ * - PENDING 주문을 엔티티 대신 (id, symbol, orderType) 프로젝션으로 스트리밍하며 order:{id} 키와 대상 심볼만 모음
+ * - 키는 UNLINK 한 번에 unlink-batch-size 개씩, 파이프라인 한 번에 pipeline-depth 개 명령씩 전송 (삭제는 Redis 백그라운드에서)
+ * - 마지막에 모인 심볼의 buy_orders:* / sell_orders:* ZSET 을 통째로 UNLINK
+ * - 왕복 횟수가 주문 수 / (unlink-batch-size x pipeline-depth) 로 제한되어 예약 주문이 많아도 빠르게 끝남
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeasonRolloverService {
+
+    private final OrderRepository orderRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${season.rollover.unlink-batch-size:500}")
+    private int unlinkBatchSize;
+
+    @Value("${season.rollover.pipeline-depth:20}")
+    private int pipelineDepth;
+
+    private Timer rolloverTimer;
+    private Counter unlinkedKeysCounter;
+
+    /**
+     * 정리 결과 (처리한 주문 수 / 삭제한 오더북 ZSET 수 / 실제 삭제된 키 수 / 소요 시간)
+     */
+    public record RolloverReport(int orders, int orderBooks, long keysUnlinked, long durationMs) {
+    }
+
+    @PostConstruct
+    private void init() {
+        if (unlinkBatchSize < 1 || pipelineDepth < 1) {
+            throw new IllegalArgumentException("season.rollover.unlink-batch-size and pipeline-depth must be at least 1");
+        }
+        rolloverTimer = Timer.builder("season.rollover.duration")
+                .description("Time to clear the Redis reservation mirror on season turnover")
+                .register(meterRegistry);
+        unlinkedKeysCounter = Counter.builder("season.rollover.keys.unlinked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * PENDING 예약 주문의 Redis 미러(order:{id}, buy_orders:*, sell_orders:*) 를 모두 제거
+     * - 스트리밍 조회는 트랜잭션 안에서만 가능하므로 읽기 전용 트랜잭션으로 실행
+     */
+    @Transactional(readOnly = true)
+    public RolloverReport clearPendingOrderMirror() {
+        long startedAt = System.nanoTime();
+        Set<String> orderBookKeys = new HashSet<>();
+        List<String> pendingKeys = new ArrayList<>(unlinkBatchSize * pipelineDepth);
+        int orders = 0;
+        long unlinked = 0;
+
+        try (Stream<PendingOrderKeyProjection> keys = orderRepository.streamOrderKeysByStatus(Status.PENDING)) {
+            Iterator<PendingOrderKeyProjection> iterator = keys.iterator();
+            while (iterator.hasNext()) {
+                PendingOrderKeyProjection key = iterator.next();
+                orders++;
+                orderBookKeys.add((key.getOrderType() == OrderType.BUY ? "buy_orders:" : "sell_orders:") + key.getSymbol());
+                pendingKeys.add("order:" + key.getId());
+                if (pendingKeys.size() >= unlinkBatchSize * pipelineDepth) {
+                    unlinked += unlinkPipelined(pendingKeys);
+                    pendingKeys.clear();
+                }
+            }
+        }
+        pendingKeys.addAll(orderBookKeys);
+        unlinked += unlinkPipelined(pendingKeys);
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        rolloverTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        unlinkedKeysCounter.increment(unlinked);
+        return new RolloverReport(orders, orderBookKeys.size(), unlinked, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /**
+     * 키를 unlink-batch-size 개씩 나눈 UNLINK 명령들을 파이프라인 한 번으로 전송
+     * @return 실제로 삭제된 키 수
+     */
+    private long unlinkPipelined(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (int from = 0; from < keys.size(); from += unlinkBatchSize) {
+                    operations.unlink(keys.subList(from, Math.min(from + unlinkBatchSize, keys.size())));
+                }
+                return null;
+            }
+        });
+        long unlinked = 0;
+        for (Object result : results) {
+            if (result instanceof Number count) {
+                unlinked += count.longValue();
+            }
+        }
+        return unlinked;
+    }
+}
@@ -5,8 +5,11 @@ import bit.bitgroundspring.dto.response.OrderResponseDto;
 import bit.bitgroundspring.entity.*;
 import bit.bitgroundspring.event.OrderCreatedEvent;
 import bit.bitgroundspring.repository.*;
-import jakarta.transaction.Transactional;
+import bit.bitgroundspring.settlement.BalanceSettlement;
+import bit.bitgroundspring.settlement.SettlementRunner;
+import bit.bitgroundspring.settlement.UserCommandLanes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpEntity;
@@ -22,13 +25,16 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 public class TradeService {
-    private final UserRepository userRepository;
     private final CoinRepository coinRepository;
-    private final UserAssetRepository assetRepository;
     private final OrderRepository orderRepository;
     private final SeasonRepository seasonRepository;
     private final ApplicationEventPublisher eventPublisher;
-    private final RestTemplate restTemplate;
+    @Qualifier("upbitRestTemplate")
+    private final RestTemplate upbitRestTemplate;
+    private final PriceCache priceCache;
+    private final BalanceSettlement balanceSettlement;
+    private final SettlementRunner settlementRunner;
+    private final UserCommandLanes userCommandLanes;
 
     /** 슬리피지 허용 범위: 0.5% */
     private static final double SLIPPAGE_TOLERANCE = 0.005;
@@ -36,31 +42,41 @@ public class TradeService {
     @Value("${upbit.api.ticker-url}")
     private String tickerUrl;
 
-    @Transactional
+    /** 웹소켓 시세 캐시를 신뢰하는 최대 경과 시간 (초과 시 REST 조회) */
+    @Value("${upbit.price-cache.max-staleness-ms:3000}")
+    private long maxPriceStalenessMs;
+
+    /**
+     * 시장가/지정가 즉시 주문
+     * 1단계 (락 없음): 요청 검증 + 시세 조회
+     * 2단계 (짧은 락 트랜잭션): 잔액/보유 수량 재확인 후 정산
+     * 외부 시세 조회가 사용자 행 락을 잡은 채로 실행되지 않도록 분리
+     */
     public OrderResponseDto placeOrder(Integer userId, OrderRequestDto req) {
-        double qty;
-        // 1) 사용자 & 코인 엔티티 로드 (락 모드로 동시성 방어)
-        User user = userRepository.findByIdWithPessimisticLock(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        // ===== 1단계: 락 없이 검증 및 시세 확정 =====
+        if (req.getOrderType() == null) {
+            throw new IllegalArgumentException("Order type is required");
+        }
+        boolean isBuy = req.getOrderType() == OrderType.BUY;
+        if (isBuy && (req.getTotalPrice() == null || req.getTotalPrice() <= 0)) {
+            throw new IllegalArgumentException("주문 금액은 0보다 커야 합니다.");
+        }
+        if (!isBuy && (req.getAmount() == null || req.getAmount() <= 0)) {
+            throw new IllegalArgumentException("주문 수량은 0보다 커야 합니다.");
+        }
 
         Coin coin = coinRepository.findBySymbol(req.getSymbol())
                 .orElseThrow(() -> new IllegalArgumentException("Coin not found"));
 
         Season season = seasonRepository.findByStatus(Status.PENDING)
                 .orElseThrow(() -> new IllegalStateException("진행 중인 시즌이 없습니다."));
-        
-        // 2) 현재 시장가 조회
-        String url = tickerUrl.replace("{symbol}", req.getSymbol());
-        ResponseEntity<List<Map<String,Object>>> resp = restTemplate.exchange(
-                url, HttpMethod.GET, HttpEntity.EMPTY,
-                new org.springframework.core.ParameterizedTypeReference<>() {}
-        );
-        float marketPrice = ((Number)resp.getBody().get(0).get("trade_price")).floatValue();
 
-        // 3) 주문 종류 분기
+        // 현재 시장가 조회 (견적)
+        float marketPrice = (float) getMarketPrice(req.getSymbol());
+
+        // 주문 종류 분기
         boolean isLimitOrder = req.getReservePrice() != null;
         double execPrice = marketPrice;
-        LocalDateTime now = LocalDateTime.now();
 
         if (isLimitOrder) {
             double limitPrice = req.getReservePrice();
@@ -71,58 +87,38 @@ public class TradeService {
             execPrice = limitPrice;
         }
 
-        boolean isBuy = req.getOrderType() == OrderType.BUY;
+        // ===== 2단계: 사용자 레인에서 짧은 트랜잭션으로 정산 =====
+        final double quotedPrice = marketPrice;
+        final double finalExecPrice = execPrice;
+        return userCommandLanes.call(userId, () -> settlementRunner.execute(status ->
+                settle(userId, req, coin, season, quotedPrice, finalExecPrice, isLimitOrder)));
+    }
 
-        UserAsset asset = assetRepository.findByUserAndCoinWithLock(user, coin)
-                .orElseGet(() -> UserAsset.builder()
-                        .user(user)
-                        .coin(coin)
-                        .amount(0d)
-                        .avgPrice(0d)
-                        .build());
+    private OrderResponseDto settle(Integer userId, OrderRequestDto req, Coin coin, Season season,
+                                    double quotedPrice, double execPrice, boolean isLimitOrder) {
+        double qty;
+        LocalDateTime now = LocalDateTime.now();
+        boolean isBuy = req.getOrderType() == OrderType.BUY;
 
+        // 현금 / 보유 자산 정산 (trade.settlement.mode 에 따라 행 잠금 또는 상대 UPDATE)
+        User user;
         if (isBuy) {
             int rawTotalPrice = req.getTotalPrice();
-            if (user.getCash() < rawTotalPrice) {
-                throw new IllegalArgumentException("잔액이 부족합니다.");
-            }
-            user.setCash(user.getCash() - rawTotalPrice);
-            execPrice = isLimitOrder ? req.getReservePrice() : marketPrice;
             qty = rawTotalPrice / execPrice;
             qty = Math.floor(qty * 1e10) / 1e10;
-
-            double newQty   = asset.getAmount() + qty;
-            double newTotal = asset.getAmount() * asset.getAvgPrice() + rawTotalPrice;
-            double newAvg   = newTotal / newQty;
-            newAvg = Math.floor(newAvg * 1e10) / 1e10;
-
-            asset.setAmount(newQty);
-            asset.setAvgPrice(newAvg);
-
-            assetRepository.save(asset);
-            userRepository.save(user);
-
+            user = balanceSettlement.buy(userId, coin, rawTotalPrice, qty, rawTotalPrice, true);
         } else {  // SELL
             qty = req.getAmount();
-            if (qty <= 0) {
-                throw new IllegalArgumentException("주문 수량은 0보다 커야 합니다.");
-            }
-            double rawCost = qty * execPrice;
-            int cost = (int) Math.floor(rawCost);
-            final float EPS = 0.00000001f;
-            double currentAmt = asset.getAmount();
-            if (currentAmt + EPS < qty) throw new IllegalArgumentException("보유 수량이 부족합니다.");
-
-            user.setCash(user.getCash() + cost);
-
-            double remaining = currentAmt - qty;
-            if (remaining < EPS) {
-                assetRepository.delete(asset);
-            } else {
-                asset.setAmount(remaining);
-                assetRepository.save(asset);
+            int cost = (int) Math.floor(qty * execPrice);
+            user = balanceSettlement.sell(userId, coin, cost, qty, true);
+        }
+
+        // 시장가 주문: 락을 기다리는 동안 시세가 견적 대비 허용 범위 이상 움직였으면 거부 (정산도 함께 롤백, 네트워크 I/O 없음)
+        if (!isLimitOrder) {
+            double livePrice = priceCache.getLastPrice(req.getSymbol());
+            if (!Double.isNaN(livePrice) && Math.abs(livePrice - quotedPrice) / quotedPrice > SLIPPAGE_TOLERANCE) {
+                throw new IllegalArgumentException("시세가 급변하여 주문이 취소되었습니다. 다시 시도해주세요.");
             }
-            userRepository.save(user);
         }
 
         Order order = Order.builder()
@@ -149,4 +145,23 @@ public class TradeService {
                 order.getCreatedAt()
         );
     }
+
+    /**
+     * 시장가 조회 - 웹소켓 시세 캐시를 먼저 사용하고, 오래된 경우에만 업비트 REST 호출
+     */
+    private double getMarketPrice(String symbol) {
+        double cachedPrice = priceCache.getFreshPrice(symbol, maxPriceStalenessMs);
+        if (!Double.isNaN(cachedPrice)) {
+            return cachedPrice;
+        }
+
+        String url = tickerUrl.replace("{symbol}", symbol);
+        ResponseEntity<List<Map<String,Object>>> resp = upbitRestTemplate.exchange(
+                url, HttpMethod.GET, HttpEntity.EMPTY,
+                new org.springframework.core.ParameterizedTypeReference<>() {}
+        );
+        double marketPrice = ((Number)resp.getBody().get(0).get("trade_price")).doubleValue();
+        priceCache.update(symbol, marketPrice);
+        return marketPrice;
+    }
 }
@@ -1,6 +1,9 @@
 package bit.bitgroundspring.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import bit.bitgroundspring.market.MarketDataService;
+import bit.bitgroundspring.market.SymbolRegistry;
+import bit.bitgroundspring.market.TickerDecoder;
+import bit.bitgroundspring.market.TickerFrame;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +41,10 @@ public class UpbitWebSocketService {
     
     private final CoinService coinService;
     private final PriceUpdateService priceUpdateService;
+    private final PriceCache priceCache;
+    private final SymbolRegistry symbolRegistry;
+    private final TickerDecoder tickerDecoder;
+    private final MarketDataService marketDataService;
     private final RedisTemplate<String, Object> redisTemplate;
     
     // 추가: Config 클래스에서 생성한 TaskExecutor 주입
@@ -71,11 +78,19 @@ public class UpbitWebSocketService {
     public UpbitWebSocketService(
             CoinService coinService,
             PriceUpdateService priceUpdateService,
+            PriceCache priceCache,
+            SymbolRegistry symbolRegistry,
+            TickerDecoder tickerDecoder,
+            MarketDataService marketDataService,
             RedisTemplate<String, Object> redisTemplate,
             @Qualifier("webSocketTaskExecutor") Executor webSocketTaskExecutor,
             TaskScheduler taskScheduler) {
         this.coinService = coinService;
         this.priceUpdateService = priceUpdateService;
+        this.priceCache = priceCache;
+        this.symbolRegistry = symbolRegistry;
+        this.tickerDecoder = tickerDecoder;
+        this.marketDataService = marketDataService;
         this.redisTemplate = redisTemplate;
         this.webSocketTaskExecutor = webSocketTaskExecutor;
         this.taskScheduler = taskScheduler;
@@ -105,7 +120,7 @@ public class UpbitWebSocketService {
         log.info("UpbitWebSocketService has been shut down.");
     }
     
-    @Scheduled(fixedDelay = 30000) // 30초마다 연결 상태 체크
+    @Scheduled(fixedDelay = 30000, scheduler = "connectionScheduler") // 30초마다 연결 상태 체크
     public void checkConnectionHealth() {
         if (!isShuttingDown.get() && !isConnected()) {
             log.warn("WebSocket connection is not healthy, attempting reconnection");
@@ -113,7 +128,7 @@ public class UpbitWebSocketService {
         }
     }
     
-    @Scheduled(cron = "0 3 0 * * ?") // 매일 0시 3분
+    @Scheduled(cron = "0 3 0 * * ?", scheduler = "connectionScheduler") // 매일 0시 3분
     public void updateSymbolList() {
         if (isShuttingDown.get()) {
             return;
@@ -209,6 +224,9 @@ public class UpbitWebSocketService {
             }, Instant.now().plusSeconds(1));
         }
         
+        // 세션당 메시지는 한 스레드에서 순서대로 전달되므로 디코딩 결과 객체를 재사용
+        private final TickerFrame frame = new TickerFrame();
+        
         @Override
         protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
             // 종료 중이면 메시지 처리하지 않음
@@ -216,45 +234,31 @@ public class UpbitWebSocketService {
                 return;
             }
             
+            ByteBuffer buffer = message.getPayload();
             try {
-                ByteBuffer buffer = message.getPayload();
-                byte[] bytes = new byte[buffer.remaining()];
-                buffer.get(bytes);
-                String jsonString = new String(bytes, StandardCharsets.UTF_8);
-                
-                processTickerMessage(jsonString);
+                // ByteBuffer 를 복사/문자열 변환 없이 바로 디코딩
+                if (!tickerDecoder.decode(buffer, frame)) {
+                    return;
+                }
+                processTicker(frame);
                 
             } catch (Exception e) {
                 if (!isShuttingDown.get()) {
-                    log.error("Failed to process binary message", e);
+                    log.error("Failed to process ticker message: {}",
+                            StandardCharsets.UTF_8.decode(buffer.duplicate()), e);
                 }
             }
         }
         
-        private void processTickerMessage(String jsonString) {
+        private void processTicker(TickerFrame ticker) {
             if (isShuttingDown.get()) {
                 return;
             }
-
-            try {
-                JsonNode tickerData = objectMapper.readTree(jsonString);
-
-                if (!tickerData.has("cd") || !tickerData.has("tp")) {
-                    return;
-                }
-
-                String symbol = tickerData.get("cd").asText();
-                double price = tickerData.get("tp").asDouble();
-                
-                if (symbol != null && !symbol.trim().isEmpty() && price > 0) {
-                    // 변경: 개선된 updatePrice 메서드 호출
-                    priceUpdateService.updatePrice(symbol, price);
-                }
-            } catch (Exception e) {
-                if (!isShuttingDown.get()) {
-                    log.error("Failed to process ticker message: {}", jsonString, e);
-                }
-            }
+            
+            priceCache.update(ticker.symbolId, ticker.tradePrice, System.currentTimeMillis());
+            marketDataService.onTicker(ticker);
+            // 심볼 문자열은 레지스트리에 보관된 인스턴스를 그대로 사용 (새로 만들지 않음)
+            priceUpdateService.updatePrice(symbolRegistry.nameOf(ticker.symbolId), ticker.tradePrice);
         }
         
         @Override
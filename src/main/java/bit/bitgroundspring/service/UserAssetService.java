@@ -1,23 +1,27 @@
 package bit.bitgroundspring.service;
 
+import bit.bitgroundspring.dto.AvailableAssetDto;
 import bit.bitgroundspring.dto.projection.UserAssetProjection;
+import bit.bitgroundspring.dto.projection.UserHoldingProjection;
 import bit.bitgroundspring.dto.response.UserAssetResponse;
 import bit.bitgroundspring.entity.User;
-import bit.bitgroundspring.repository.OrderRepository;
 import bit.bitgroundspring.repository.UserAssetRepository;
 import bit.bitgroundspring.repository.UserRepository;
+import bit.bitgroundspring.settlement.ReservationLedger;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserAssetService {
     private final UserRepository userRepository;
     private final UserAssetRepository userAssetRepository;
-    private final OrderRepository orderRepository;
+    private final ReservationLedger reservationLedger;
     
     
     /**
@@ -29,9 +33,15 @@ public class UserAssetService {
     public UserAssetResponse getUserAssets(Integer userId) {
         Integer cash = getAvailableCash(userId);
         
-        // 사용자 자산 조회 (projection 사용)
-        List<UserAssetProjection> userAssets = userAssetRepository
-                .findUserAssetsWithAvailableAmount(userId);
+        // 보유 수량에서 매도 예약 수량을 빼고 남은 자산만 (예약 수량은 예약 장부에서 한 번에 조회)
+        Map<Integer, Double> reserved = reservationLedger.reservedQuantities(userId);
+        List<UserAssetProjection> userAssets = new ArrayList<>();
+        for (UserHoldingProjection holding : userAssetRepository.findHoldingsByUserId(userId)) {
+            double available = holding.getAmount() - reserved.getOrDefault(holding.getCoinId(), 0d);
+            if (available > 0) {
+                userAssets.add(new AvailableAssetDto(holding.getSymbol(), available, holding.getAvgPrice()));
+            }
+        }
         
         return new UserAssetResponse(cash, userAssets);
     }
@@ -47,12 +57,8 @@ public class UserAssetService {
                 .map(User::getCash)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Integer reservedCash = orderRepository.calculateTotalReservePriceForBuyOrdersByUserId(userId);
-        // 현금에서 예약된 금액 차감
-        if (reservedCash == null) {
-            reservedCash = 0; // 예약된 금액이 없으면 0으로 설정
-        }
-        cash -= reservedCash;
+        // 현금에서 예약된 금액 차감 (예약 장부)
+        cash -= reservationLedger.reservedCash(userId);
 
         // 만약 현금이 음수라면 예외 처리
         if (cash < 0) {
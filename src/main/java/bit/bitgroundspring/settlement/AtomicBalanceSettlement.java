@@ -0,0 +1,59 @@
+package bit.bitgroundspring.settlement;
+
+import bit.bitgroundspring.entity.Coin;
+import bit.bitgroundspring.entity.User;
+import bit.bitgroundspring.repository.UserAssetRepository;
+import bit.bitgroundspring.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 행을 먼저 읽어 잠그지 않고 상대 UPDATE 한 문장으로 정산
+ * - 현금: cash = cash - ? WHERE cash >= ? (영향 행 0 이면 잔액 부족)
+ * - 매수 자산: INSERT ... ON DUPLICATE KEY UPDATE 로 수량 / 평균 단가 갱신
+ * - 매도 자산: amount = amount - ? WHERE amount >= ? 후 남은 수량이 없으면 삭제
+ * - 행 잠금은 UPDATE 실행 시점부터 커밋까지만 유지되고, 사용자 → 자산 순서는 비관적 방식과 동일
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trade.settlement.mode", havingValue = "atomic")
+public class AtomicBalanceSettlement implements BalanceSettlement {
+
+    private final UserRepository userRepository;
+    private final UserAssetRepository assetRepository;
+
+    @Override
+    public User buy(Integer userId, Coin coin, int cash, double qty, double notional, boolean checkCash) {
+        int updated = checkCash
+                ? userRepository.withdrawCash(userId, cash)
+                : userRepository.adjustCash(userId, -cash);
+        if (updated == 0) {
+            if (checkCash && userRepository.existsById(userId)) {
+                throw new IllegalArgumentException("잔액이 부족합니다.");
+            }
+            throw new IllegalArgumentException("User not found");
+        }
+        assetRepository.addHolding(userId, coin.getId(), qty, notional);
+        return userRepository.getReferenceById(userId);
+    }
+
+    @Override
+    public User sell(Integer userId, Coin coin, int proceeds, double qty, boolean checkHoldings) {
+        if (userRepository.adjustCash(userId, proceeds) == 0) {
+            throw new IllegalArgumentException("User not found");
+        }
+        int updated = assetRepository.subtractHolding(userId, coin.getId(), qty, EPS);
+        if (updated == 0 && checkHoldings) {
+            // 현금 증가도 함께 롤백됨
+            throw new IllegalArgumentException("보유 수량이 부족합니다.");
+        }
+        assetRepository.deleteEmptyHolding(userId, coin.getId(), EPS);
+        return userRepository.getReferenceById(userId);
+    }
+
+    @Override
+    public String mode() {
+        return "atomic";
+    }
+}
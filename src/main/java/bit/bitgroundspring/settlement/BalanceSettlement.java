@@ -0,0 +1,32 @@
+package bit.bitgroundspring.settlement;
+
+import bit.bitgroundspring.entity.Coin;
+import bit.bitgroundspring.entity.User;
+
+/**
+ * 체결 시 현금 / 보유 자산 정산 (호출자의 트랜잭션 안에서 실행)
+ * - trade.settlement.mode 로 구현 선택: pessimistic (기본, SELECT ... FOR UPDATE) / atomic (상대 UPDATE)
+ * - 잔액 / 보유 수량 부족은 IllegalArgumentException
+ */
+public interface BalanceSettlement {
+
+    double EPS = 0.00000001;
+
+    /**
+     * 매수 정산: 현금 차감 + 보유 수량 / 평균 단가 갱신
+     * @param cash      차감할 현금
+     * @param qty       매수 수량
+     * @param notional  평균 단가 계산에 쓰는 매수 금액
+     * @param checkCash 잔액 검사 여부 (예약 주문 체결은 주문 시 이미 검사)
+     * @return 주문 저장에 쓸 사용자 (영속 상태 또는 참조)
+     */
+    User buy(Integer userId, Coin coin, int cash, double qty, double notional, boolean checkCash);
+
+    /**
+     * 매도 정산: 보유 수량 차감 (남은 수량이 없으면 삭제) + 현금 증가
+     * @param checkHoldings 보유 수량 검사 여부 (예약 주문 체결은 주문 시 이미 검사)
+     */
+    User sell(Integer userId, Coin coin, int proceeds, double qty, boolean checkHoldings);
+
+    String mode();
+}
@@ -0,0 +1,84 @@
+package bit.bitgroundspring.settlement;
+
+import bit.bitgroundspring.entity.Coin;
+import bit.bitgroundspring.entity.User;
+import bit.bitgroundspring.entity.UserAsset;
+import bit.bitgroundspring.repository.UserAssetRepository;
+import bit.bitgroundspring.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 사용자 → 자산 순서로 행 잠금 후 엔티티를 수정하는 정산 (기존 방식)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "trade.settlement.mode", havingValue = "pessimistic", matchIfMissing = true)
+public class PessimisticBalanceSettlement implements BalanceSettlement {
+
+    private final UserRepository userRepository;
+    private final UserAssetRepository assetRepository;
+
+    @Override
+    public User buy(Integer userId, Coin coin, int cash, double qty, double notional, boolean checkCash) {
+        User user = lockUser(userId);
+        if (checkCash && user.getCash() < cash) {
+            throw new IllegalArgumentException("잔액이 부족합니다.");
+        }
+        user.setCash(user.getCash() - cash);
+
+        UserAsset asset = assetRepository.findByUserAndCoinWithLock(user, coin)
+                .orElseGet(() -> UserAsset.builder()
+                        .user(user)
+                        .coin(coin)
+                        .amount(0d)
+                        .avgPrice(0d)
+                        .build());
+        double newQty = asset.getAmount() + qty;
+        double newAvg = (asset.getAmount() * asset.getAvgPrice() + notional) / newQty;
+        asset.setAmount(newQty);
+        asset.setAvgPrice(Math.floor(newAvg * 1e10) / 1e10);
+
+        assetRepository.save(asset);
+        userRepository.save(user);
+        return user;
+    }
+
+    @Override
+    public User sell(Integer userId, Coin coin, int proceeds, double qty, boolean checkHoldings) {
+        User user = lockUser(userId);
+        Optional<UserAsset> found = assetRepository.findByUserAndCoinWithLock(user, coin);
+        double currentAmt = found.map(UserAsset::getAmount).orElse(0d);
+        if (checkHoldings && currentAmt + EPS < qty) {
+            throw new IllegalArgumentException("보유 수량이 부족합니다.");
+        }
+
+        user.setCash(user.getCash() + proceeds);
+
+        if (found.isPresent()) {
+            UserAsset asset = found.get();
+            double remaining = currentAmt - qty;
+            if (remaining < EPS) {
+                assetRepository.delete(asset);
+            } else {
+                asset.setAmount(remaining);
+                assetRepository.save(asset);
+            }
+        }
+        userRepository.save(user);
+        return user;
+    }
+
+    @Override
+    public String mode() {
+        return "pessimistic";
+    }
+
+    private User lockUser(Integer userId) {
+        return userRepository.findByIdWithPessimisticLock(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+}
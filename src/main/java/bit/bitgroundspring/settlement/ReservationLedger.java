@@ -0,0 +1,364 @@
+package bit.bitgroundspring.settlement;
+
+import bit.bitgroundspring.dto.projection.PendingOrderEntryProjection;
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 예약 주문으로 묶인 현금 / 수량 장부 (현재 시즌 PENDING 주문 기준, Redis 에 보관해 모든 노드가 공유)
+ * - reservation:user:{userId} 해시: cash = 매수 예약 금액 합계, qty:{coinId} = 코인별 매도 예약 수량 합계
+ * - reservation:order:{orderId} 해시: 주문이 더한 값 (취소 / 체결 시 그대로 되돌림)
+ * - reservation:orders ZSET: 장부에 있는 주문 ID (score = 반영 시각)
+ * - 예약은 잔액 / 수량 확인과 합계 증가를 Lua 스크립트 한 번으로 처리 (노드 간에도 원자적, SUM 쿼리 없음)
+ * - 해제는 주문 기록을 지우고 잠시 해제 표시를 남겨, 이미 읽어 둔 DB 결과로 보정할 때 다시 더하지 않도록 함
+ * - reconcile-interval-ms 마다 DB 기준으로 주문 단위 차이만 보정 (DB 조회 중에는 아무 락도 잡지 않음)
+ *   반영한 지 reconcile-grace-ms 가 안 된 주문은 아직 커밋 전일 수 있으므로 DB 에 없어도 그대로 둠
+ * - 스크립트가 주문 기록에 적힌 사용자 키를 다시 수정하므로 단일 Redis 노드 전제 (Redis Cluster 불가)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationLedger {
+
+    public static final String USER_KEY_PREFIX = "reservation:user:";
+    private static final String ORDER_KEY_PREFIX = "reservation:order:";
+    private static final String RELEASED_KEY_PREFIX = "reservation:released:";
+    private static final String INDEX_KEY = "reservation:orders";
+    private static final String CASH_FIELD = "cash";
+    private static final String QUANTITY_FIELD_PREFIX = "qty:";
+
+    // 해시 필드에 더하고, 0 에 가까워지면 필드 삭제 (부호는 문자열로 바꿔 Lua 숫자 변환에 따른 정밀도 손실 방지)
+    private static final String LUA_HELPERS = """
+            local function negate(s)
+                if string.sub(s, 1, 1) == '-' then return string.sub(s, 2) end
+                return '-' .. s
+            end
+            local function adjust(key, field, delta)
+                local value = tonumber(redis.call('HINCRBYFLOAT', key, field, delta))
+                if math.abs(value) < 1e-8 then redis.call('HDEL', key, field) end
+            end
+            """;
+
+    /**
+     * KEYS[1] = 사용자 키, KEYS[2] = 주문 키, KEYS[3] = 주문 인덱스, KEYS[4] = 해제 표시 키
+     * ARGV[1] = 필드, ARGV[2] = 더할 값, ARGV[3] = 한도 (빈 문자열이면 확인 안 함), ARGV[4] = 주문 ID,
+     * ARGV[5] = 현재 시각(ms), ARGV[6] = new | repair
+     * 반환: 1 = 반영, 0 = 한도 초과, -1 = 이미 해제된 주문 (repair 만)
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(LUA_HELPERS + """
+            if ARGV[6] == 'repair' and redis.call('EXISTS', KEYS[4]) == 1 then
+                return -1
+            end
+            local old = redis.call('HMGET', KEYS[2], 'user', 'field', 'delta')
+            if ARGV[3] ~= '' then
+                local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+                if old[1] == KEYS[1] and old[2] == ARGV[1] then
+                    current = current - tonumber(old[3])
+                end
+                if current + tonumber(ARGV[2]) > tonumber(ARGV[3]) + 1e-8 then
+                    return 0
+                end
+            end
+            if old[1] then
+                adjust(old[1], old[2], negate(old[3]))
+            end
+            adjust(KEYS[1], ARGV[1], ARGV[2])
+            redis.call('HSET', KEYS[2], 'user', KEYS[1], 'field', ARGV[1], 'delta', ARGV[2])
+            redis.call('ZADD', KEYS[3], ARGV[5], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = 주문 키, KEYS[2] = 주문 인덱스, KEYS[3] = 해제 표시 키
+     * ARGV[1] = 주문 ID, ARGV[2] = 해제 표시 TTL(초)
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(LUA_HELPERS + """
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            redis.call('SET', KEYS[3], '1', 'EX', ARGV[2])
+            local old = redis.call('HMGET', KEYS[1], 'user', 'field', 'delta')
+            if not old[1] then
+                return 0
+            end
+            adjust(old[1], old[2], negate(old[3]))
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    private final OrderRepository orderRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 이보다 최근에 반영된 주문은 DB 에 없어도 커밋 전일 수 있으므로 보정에서 제외
+    @Value("${trade.ledger.reconcile-grace-ms:60000}")
+    private long reconcileGraceMs;
+
+    // 해제 표시 유지 시간 - 보정 한 번(DB 조회 ~ 반영) 보다 충분히 길게
+    @Value("${trade.ledger.release-marker-ttl-seconds:600}")
+    private long releaseMarkerTtlSeconds;
+
+    /**
+     * 주문 하나가 사용자 해시에 더한 값 (매수: cash 에 예약가 x 수량, 매도: qty:{coinId} 에 수량)
+     */
+    record Reservation(Integer userId, String field, double delta) {
+
+        static Reservation of(Integer userId, Integer coinId, OrderType orderType, double reservePrice, double amount) {
+            return orderType == OrderType.BUY
+                    ? new Reservation(userId, CASH_FIELD, reservePrice * amount)
+                    : new Reservation(userId, QUANTITY_FIELD_PREFIX + coinId, amount);
+        }
+    }
+
+    /**
+     * 보정 작업 목록 - 다시 반영할 주문과 해제할 주문 ID
+     */
+    record ReconcilePlan(Map<Integer, Reservation> toRepair, List<Integer> toRelease) {
+
+        int size() {
+            return toRepair.size() + toRelease.size();
+        }
+    }
+
+    private final AtomicInteger trackedOrders = new AtomicInteger();
+    private Counter driftCounter;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    private void init() {
+        Gauge.builder("reservation.ledger.orders", trackedOrders, AtomicInteger::get)
+                .description("Pending reservations seen in the database at the last reconciliation")
+                .register(meterRegistry);
+        driftCounter = Counter.builder("reservation.ledger.drift")
+                .description("Reservations that differed from the database during reconciliation")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("reservation.ledger.rejected")
+                .description("Reserve attempts rejected because cash or quantity was insufficient")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild reservation ledger from database", e);
+        }
+    }
+
+    /**
+     * 한도 안에서만 예약 반영 (확인과 증가가 한 번에 실행되므로 다른 노드의 예약과 겹쳐도 한도를 넘지 않음)
+     * - 예약 주문 저장 후 같은 트랜잭션 안에서 호출, 롤백되면 호출자가 release 로 되돌림
+     * @param limit 매수: 사용자 현금, 매도: 보유 수량
+     * @return 한도를 넘으면 false (아무것도 바꾸지 않음)
+     */
+    public boolean tryReserve(Integer orderId, Integer userId, Integer coinId, OrderType orderType,
+                              double reservePrice, double amount, double limit) {
+        Reservation reservation = Reservation.of(userId, coinId, orderType, reservePrice, amount);
+        Long result = runReserve(orderId, reservation, Double.toString(limit), "new");
+        if (result == null || result != 1L) {
+            rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 예약 해제 (취소 / 체결 / 롤백), 없는 주문이면 해제 표시만 남김
+     * - 커밋 이후에 호출되므로 실패해도 예외를 던지지 않음 (다음 보정에서 정리)
+     */
+    public void release(Integer orderId) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT,
+                    List.of(ORDER_KEY_PREFIX + orderId, INDEX_KEY, RELEASED_KEY_PREFIX + orderId),
+                    String.valueOf(orderId), String.valueOf(releaseMarkerTtlSeconds));
+        } catch (Exception e) {
+            log.error("Failed to release reservation for order {}", orderId, e);
+        }
+    }
+
+    /**
+     * 사용자의 매수 예약으로 묶인 현금 (원 단위 반올림)
+     */
+    public int reservedCash(Integer userId) {
+        Object cash = stringRedisTemplate.opsForHash().get(USER_KEY_PREFIX + userId, CASH_FIELD);
+        return cash == null ? 0 : (int) Math.round(Double.parseDouble(cash.toString()));
+    }
+
+    /**
+     * 사용자의 해당 코인 매도 예약 수량
+     */
+    public double reservedQuantity(Integer userId, Integer coinId) {
+        Object quantity = stringRedisTemplate.opsForHash().get(USER_KEY_PREFIX + userId, QUANTITY_FIELD_PREFIX + coinId);
+        return quantity == null ? 0 : Double.parseDouble(quantity.toString());
+    }
+
+    /**
+     * 사용자의 코인별 매도 예약 수량 전체 (해시 한 번 조회)
+     */
+    public Map<Integer, Double> reservedQuantities(Integer userId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(USER_KEY_PREFIX + userId);
+        Map<Integer, Double> quantities = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            String field = entry.getKey().toString();
+            if (field.startsWith(QUANTITY_FIELD_PREFIX)) {
+                quantities.put(Integer.valueOf(field.substring(QUANTITY_FIELD_PREFIX.length())),
+                        Double.parseDouble(entry.getValue().toString()));
+            }
+        }
+        return quantities;
+    }
+
+    public int size() {
+        return trackedOrders.get();
+    }
+
+    /**
+     * DB 의 현재 시즌 PENDING 주문 기준으로 장부를 보정
+     * - DB 조회는 락 없이 먼저 끝내고, 주문 단위로 다른 것만 다시 반영 / 해제
+     * @return DB 와 달랐던 예약 수
+     */
+    public int rebuild() {
+        List<PendingOrderEntryProjection> entries = orderRepository.findPendingOrderEntriesForCurrentSeason();
+        Map<Integer, Reservation> expected = new HashMap<>();
+        for (PendingOrderEntryProjection entry : entries) {
+            if (entry.getReservePrice() == null || entry.getAmount() == null) {
+                continue;
+            }
+            expected.put(entry.getId(), Reservation.of(entry.getUserId(), entry.getCoinId(), entry.getOrderType(),
+                    entry.getReservePrice(), entry.getAmount()));
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Integer, Long> reservedAt = new HashMap<>();
+        Set<ZSetOperations.TypedTuple<String>> indexed = stringRedisTemplate.opsForZSet().rangeWithScores(INDEX_KEY, 0, -1);
+        if (indexed != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : indexed) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    reservedAt.put(Integer.valueOf(tuple.getValue()), tuple.getScore().longValue());
+                }
+            }
+        }
+
+        Set<Integer> orderIds = new LinkedHashSet<>(expected.keySet());
+        orderIds.addAll(reservedAt.keySet());
+        ReconcilePlan plan = plan(expected, readReservations(new ArrayList<>(orderIds)), reservedAt,
+                now - reconcileGraceMs);
+
+        int drift = 0;
+        for (Map.Entry<Integer, Reservation> entry : plan.toRepair().entrySet()) {
+            // 그 사이 해제된 주문(-1) 은 이미 DB 보다 최신 상태이므로 차이로 세지 않음
+            Long result = runReserve(entry.getKey(), entry.getValue(), "", "repair");
+            if (result != null && result == 1L) {
+                drift++;
+            }
+        }
+        for (Integer orderId : plan.toRelease()) {
+            release(orderId);
+            drift++;
+        }
+        trackedOrders.set(expected.size());
+        log.info("Reconciled reservation ledger: {} pending orders, {} differing", expected.size(), drift);
+        return drift;
+    }
+
+    /**
+     * 주기적으로 DB 와 맞춤 (증분 반영 누락 / 다른 경로의 변경 보정)
+     */
+    @Scheduled(fixedDelayString = "${trade.ledger.reconcile-interval-ms:60000}",
+            initialDelayString = "${trade.ledger.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            int drift = rebuild();
+            if (drift > 0) {
+                driftCounter.increment(drift);
+                log.warn("Reservation ledger reconciled with {} differing orders", drift);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile reservation ledger", e);
+        }
+    }
+
+    /**
+     * DB 기준 예약(expected) 과 장부(current) 비교
+     * - 값이 다르거나 장부에 없는 주문은 다시 반영
+     * - DB 에 없는 주문은 releaseBefore 이전에 반영된 것만 해제 (최근 것은 커밋 전일 수 있음)
+     */
+    static ReconcilePlan plan(Map<Integer, Reservation> expected, Map<Integer, Reservation> current,
+                              Map<Integer, Long> reservedAt, long releaseBefore) {
+        Map<Integer, Reservation> toRepair = new HashMap<>();
+        for (Map.Entry<Integer, Reservation> entry : expected.entrySet()) {
+            if (!entry.getValue().equals(current.get(entry.getKey()))) {
+                toRepair.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Set<Integer> stale = new LinkedHashSet<>(current.keySet());
+        stale.addAll(reservedAt.keySet());
+        List<Integer> toRelease = new ArrayList<>();
+        for (Integer orderId : stale) {
+            if (!expected.containsKey(orderId) && reservedAt.getOrDefault(orderId, 0L) < releaseBefore) {
+                toRelease.add(orderId);
+            }
+        }
+        return new ReconcilePlan(toRepair, toRelease);
+    }
+
+    private Long runReserve(Integer orderId, Reservation reservation, String limit, String mode) {
+        return stringRedisTemplate.execute(RESERVE_SCRIPT,
+                List.of(USER_KEY_PREFIX + reservation.userId(), ORDER_KEY_PREFIX + orderId, INDEX_KEY,
+                        RELEASED_KEY_PREFIX + orderId),
+                reservation.field(), Double.toString(reservation.delta()), limit, String.valueOf(orderId),
+                String.valueOf(System.currentTimeMillis()), mode);
+    }
+
+    // 주문 기록을 파이프라인으로 한 번에 조회
+    private Map<Integer, Reservation> readReservations(List<Integer> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Integer orderId : orderIds) {
+                    operations.opsForHash().multiGet(ORDER_KEY_PREFIX + orderId, List.of("user", "field", "delta"));
+                }
+                return null;
+            }
+        });
+
+        Map<Integer, Reservation> reservations = new HashMap<>();
+        for (int i = 0; i < orderIds.size(); i++) {
+            if (results.get(i) instanceof List<?> values && values.size() == 3 && values.get(0) != null) {
+                Integer userId = Integer.valueOf(values.get(0).toString().substring(USER_KEY_PREFIX.length()));
+                reservations.put(orderIds.get(i), new Reservation(userId, values.get(1).toString(),
+                        Double.parseDouble(values.get(2).toString())));
+            }
+        }
+        return reservations;
+    }
+}
@@ -0,0 +1,88 @@
+package bit.bitgroundspring.settlement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 정산 트랜잭션 실행 + 제한된 재시도
+ * - 데드락 / 락 대기 시간 초과(PessimisticLockingFailureException) 는 트랜잭션 전체를 max-attempts 까지 다시 실행
+ * - settlement.transaction 타이머(mode 태그)로 두 정산 방식의 처리 시간을 비교
+ * - 레인 스레드에서는 대기 없이 바로 재시도 (같은 레인의 다른 사용자 명령이 멈추지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceSettlement balanceSettlement;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trade.settlement.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${trade.settlement.retry-backoff-ms:10}")
+    private long retryBackoffMs;
+
+    private Timer transactionTimer;
+    private Counter retryCounter;
+    private Counter exhaustedCounter;
+
+    @PostConstruct
+    private void init() {
+        transactionTimer = Timer.builder("settlement.transaction")
+                .tag("mode", balanceSettlement.mode())
+                .register(meterRegistry);
+        retryCounter = Counter.builder("settlement.retry")
+                .tag("mode", balanceSettlement.mode())
+                .register(meterRegistry);
+        exhaustedCounter = Counter.builder("settlement.retry.exhausted")
+                .tag("mode", balanceSettlement.mode())
+                .register(meterRegistry);
+        log.info("Balance settlement mode: {}", balanceSettlement.mode());
+    }
+
+    public <T> T execute(TransactionCallback<T> callback) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTimer.recordCallable(() -> transactionTemplate.execute(callback));
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    throw e;
+                }
+                retryCounter.increment();
+                log.debug("Settlement lock conflict (attempt {}/{}): {}", attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        if (UserCommandLanes.isLaneThread()) {
+            return;
+        }
+        long delay = retryBackoffMs * attempt + ThreadLocalRandom.current().nextLong(retryBackoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("정산 재시도 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package bit.bitgroundspring.settlement;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 잔액 변경 명령 직렬화 (userId 를 해시해 고정 개수의 단일 스레드 레인에 배정)
+ * - 같은 사용자의 즉시 주문 / 예약 주문 생성 / 예약 체결은 같은 레인에서 순서대로 실행되어 JVM 안에서 서로 경합하지 않음
+ * - 다른 사용자는 다른 레인에서 병렬 실행
+ * - 레인 큐가 가득 차면 IllegalStateException (호출자에게 바로 알림)
+ * - 다른 노드와의 경합은 여전히 DB (행 잠금 / 조건부 UPDATE) 가 막음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCommandLanes {
+
+    private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${trade.lanes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trade.lanes.count:8}")
+    private int laneCount;
+
+    @Value("${trade.lanes.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor[] lanes;
+    private Timer queueWaitTimer;
+
+    @PostConstruct
+    private void init() {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("trade.lanes.count must be at least 1");
+        }
+        lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread thread = new Thread(() -> {
+                            CURRENT_LANE.set(lane);
+                            r.run();
+                        }, "UserLane-" + lane);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+
+            Gauge.builder("trade.lane.queue.depth", lanes[i], executor -> executor.getQueue().size())
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+            FunctionCounter.builder("trade.lane.executed", lanes[i], ThreadPoolExecutor::getCompletedTaskCount)
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("trade.lane.imbalance", this, UserCommandLanes::imbalance)
+                .description("Deepest lane queue divided by the average lane queue depth (1 = balanced)")
+                .register(meterRegistry);
+        queueWaitTimer = Timer.builder("trade.lane.wait")
+                .description("Time a command waited in its lane before running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (lanes == null) {
+            return;
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                lane.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 현재 스레드가 레인 스레드인지 (레인 안에서는 다른 사용자의 명령이 뒤에서 기다리므로 대기 금지)
+     */
+    public static boolean isLaneThread() {
+        return CURRENT_LANE.get() != null;
+    }
+
+    public int laneCount() {
+        return laneCount;
+    }
+
+    public int laneOf(Integer userId) {
+        return Math.floorMod(userId == null ? 0 : userId.hashCode(), laneCount);
+    }
+
+    /**
+     * 사용자의 레인에서 명령을 실행하고 끝날 때까지 대기
+     */
+    public <T> T call(Integer userId, Supplier<T> command) {
+        return await(submit(laneOf(userId), command));
+    }
+
+    /**
+     * 지정한 레인에서 명령 실행 (비동기)
+     * - 이미 레인 스레드 안이면 그 자리에서 바로 실행 (레인끼리 서로 기다리는 교착 방지)
+     */
+    public <T> CompletableFuture<T> submit(int lane, Supplier<T> command) {
+        if (!enabled || CURRENT_LANE.get() != null) {
+            try {
+                return CompletableFuture.completedFuture(command.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            lanes[lane].execute(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    future.complete(command.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("주문 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+        return future;
+    }
+
+    /**
+     * 레인 작업 결과 대기 - 작업에서 발생한 예외는 그대로 다시 던짐
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 처리 대기 중 인터럽트", e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private double imbalance() {
+        int max = 0;
+        long total = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            int depth = lane.getQueue().size();
+            max = Math.max(max, depth);
+            total += depth;
+        }
+        return total == 0 ? 1.0 : max / ((double) total / lanes.length);
+    }
+}
@@ -0,0 +1,93 @@
+package bit.bitgroundspring.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 락을 사용하지 않는 고정 크기 링 버퍼 (다중 생산자 / 다중 소비자)
+ * - 슬롯마다 시퀀스 번호를 두고 CAS 로 생산/소비 위치를 확보
+ * - 가득 차면 offer 는 대기하지 않고 false 반환 (호출 스레드를 막지 않음)
+ */
+public final class BoundedRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong(); // 다음 소비 위치
+    private final AtomicLong tail = new AtomicLong(); // 다음 생산 위치
+
+    public BoundedRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1; // 2의 거듭제곱으로 올림
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // 가득 참
+            } else {
+                pos = tail.get();
+            }
+        }
+        buffer.set(index, element);
+        sequences.set(index, pos + 1);
+        return true;
+    }
+
+    public E poll() {
+        long pos = head.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null; // 비어 있음
+            } else {
+                pos = head.get();
+            }
+        }
+        E element = buffer.get(index);
+        buffer.set(index, null);
+        sequences.set(index, pos + mask + 1);
+        return element;
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
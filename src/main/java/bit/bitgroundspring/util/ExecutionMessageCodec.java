@@ -0,0 +1,76 @@
+package bit.bitgroundspring.util;
+
+/**
+ * 주문 실행 큐 메시지 바이너리 코덱 (고정 길이 21 바이트, big-endian)
+ * [0]      version (1 byte)
+ * [1..4]   orderId (int)
+ * [5..12]  executionPrice (double)
+ * [13..20] queuedAt epoch millis (long)
+ * 디코딩은 바이트 배열에서 바로 읽으므로 중간 String / 객체를 만들지 않음
+ */
+public final class ExecutionMessageCodec {
+
+    public static final byte VERSION = 1;
+    public static final int LENGTH = 21;
+
+    private static final int ORDER_ID_OFFSET = 1;
+    private static final int PRICE_OFFSET = 5;
+    private static final int QUEUED_AT_OFFSET = 13;
+
+    private ExecutionMessageCodec() {
+    }
+
+    public static byte[] encode(int orderId, double executionPrice, long queuedAt) {
+        byte[] bytes = new byte[LENGTH];
+        bytes[0] = VERSION;
+        writeInt(bytes, ORDER_ID_OFFSET, orderId);
+        writeLong(bytes, PRICE_OFFSET, Double.doubleToRawLongBits(executionPrice));
+        writeLong(bytes, QUEUED_AT_OFFSET, queuedAt);
+        return bytes;
+    }
+
+    public static boolean isSupported(byte[] bytes) {
+        return bytes != null && bytes.length == LENGTH && bytes[0] == VERSION;
+    }
+
+    public static int orderId(byte[] bytes) {
+        return readInt(bytes, ORDER_ID_OFFSET);
+    }
+
+    public static double executionPrice(byte[] bytes) {
+        return Double.longBitsToDouble(readLong(bytes, PRICE_OFFSET));
+    }
+
+    public static long queuedAt(byte[] bytes) {
+        return readLong(bytes, QUEUED_AT_OFFSET);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+                | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
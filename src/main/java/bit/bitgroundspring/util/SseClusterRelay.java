@@ -0,0 +1,329 @@
+package bit.bitgroundspring.util;
+
+import bit.bitgroundspring.dto.response.NotificationResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 간 SSE 전달 (Redis pub/sub)
+ * - 노드마다 전용 채널(sse:node:{nodeId}) 을 구독하고, 전체 공지는 공용 채널(sse:broadcast) 로 전달
+ * - 접속 위치는 sse:presence:{userId} ZSET (member: nodeId, score: 만료 시각) 에 기록하고 주기적으로 갱신
+ * - 다른 노드로 보낼 메시지는 모아두었다가 flush 틱마다 노드별로 한 번에 publish
+ * - 로컬에 연결이 있는 사용자는 UserSseEmitters 가 바로 전송하므로 이 경로를 타지 않음
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SseClusterRelay implements MessageListener {
+
+    private static final String NODE_CHANNEL_PREFIX = "sse:node:";
+    private static final String BROADCAST_CHANNEL = "sse:broadcast";
+    private static final String PRESENCE_KEY_PREFIX = "sse:presence:";
+
+    /**
+     * 다른 노드에서 넘어온 메시지를 이 노드의 연결로 전달하는 콜백 (UserSseEmitters 가 등록)
+     */
+    public interface LocalDelivery {
+        void deliverToUser(Integer userId, NotificationResponse data);
+
+        void deliverToAll(NotificationResponse data);
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sse.cluster.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sse.cluster.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${sse.cluster.presence-ttl-ms:90000}")
+    private long presenceTtlMs;
+
+    private String nodeId;
+    private String nodeChannel;
+    private volatile LocalDelivery localDelivery;
+
+    // flush 틱마다 비워지는 대기열
+    private final Queue<Envelope> pendingToUsers = new ConcurrentLinkedQueue<>();
+    private final Queue<Envelope> pendingBroadcasts = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> pendingOnline = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> pendingOffline = ConcurrentHashMap.newKeySet();
+
+    // 이 노드에 연결된 사용자 (presence 갱신 대상)
+    private final Set<Integer> localUsers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 노드 간 전달 메시지 (userId 가 null 이면 전체 공지)
+     */
+    public record Envelope(String origin, Integer userId, NotificationResponse data) {
+    }
+
+    @PostConstruct
+    private void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank()
+                ? UUID.randomUUID().toString()
+                : configuredNodeId;
+        nodeChannel = NODE_CHANNEL_PREFIX + nodeId;
+        if (enabled) {
+            redisMessageListenerContainer.addMessageListener(this,
+                    List.of(new ChannelTopic(nodeChannel), new ChannelTopic(BROADCAST_CHANNEL)));
+            log.info("SSE cluster relay started. nodeId={}", nodeId);
+        }
+    }
+
+    public void setLocalDelivery(LocalDelivery localDelivery) {
+        this.localDelivery = localDelivery;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // ========== UserSseEmitters 에서 호출 ==========
+
+    public void userConnected(Integer userId) {
+        if (!enabled) {
+            return;
+        }
+        if (localUsers.add(userId)) {
+            pendingOffline.remove(userId);
+            pendingOnline.add(userId);
+        }
+    }
+
+    public void userDisconnected(Integer userId) {
+        if (!enabled) {
+            return;
+        }
+        if (localUsers.remove(userId)) {
+            pendingOnline.remove(userId);
+            pendingOffline.add(userId);
+        }
+    }
+
+    /**
+     * 로컬에 연결이 없는 사용자에게 보낼 메시지 대기열에 추가 (fire-and-forget)
+     * - 실제 접속 노드는 flush 때 presence 로 조회하므로, 호출 시점에는 전달 여부를 알 수 없음
+     * - 접속한 노드가 없으면 flush 때 조용히 버려짐
+     */
+    public void forwardToUser(Integer userId, NotificationResponse data) {
+        if (!enabled) {
+            return;
+        }
+        pendingToUsers.add(new Envelope(nodeId, userId, data));
+    }
+
+    public void forwardToAll(NotificationResponse data) {
+        if (!enabled) {
+            return;
+        }
+        pendingBroadcasts.add(new Envelope(nodeId, null, data));
+    }
+
+    // ========== flush ==========
+
+    @Scheduled(fixedDelayString = "${sse.cluster.flush-interval-ms:50}", scheduler = "realtimeScheduler")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flushPresenceChanges();
+            flushBroadcasts();
+            flushUserMessages();
+        } catch (Exception e) {
+            log.error("SSE cluster relay flush failed", e);
+        }
+    }
+
+    /**
+     * 접속 중인 사용자의 presence 만료 시각 연장
+     */
+    @Scheduled(fixedDelayString = "${sse.cluster.presence-refresh-ms:30000}", scheduler = "connectionScheduler")
+    public void refreshPresence() {
+        if (!enabled || localUsers.isEmpty()) {
+            return;
+        }
+        try {
+            writePresence(new ArrayList<>(localUsers), List.of());
+        } catch (Exception e) {
+            log.error("Failed to refresh SSE presence", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled || localUsers.isEmpty()) {
+            return;
+        }
+        try {
+            flush();
+            writePresence(List.of(), new ArrayList<>(localUsers));
+        } catch (Exception e) {
+            log.warn("Failed to clear SSE presence on shutdown", e);
+        }
+    }
+
+    private void flushPresenceChanges() {
+        if (pendingOnline.isEmpty() && pendingOffline.isEmpty()) {
+            return;
+        }
+        List<Integer> online = drain(pendingOnline);
+        List<Integer> offline = drain(pendingOffline);
+        writePresence(online, offline);
+    }
+
+    private void flushBroadcasts() {
+        if (pendingBroadcasts.isEmpty()) {
+            return;
+        }
+        List<Envelope> batch = new ArrayList<>();
+        Envelope envelope;
+        while ((envelope = pendingBroadcasts.poll()) != null) {
+            batch.add(envelope);
+        }
+        stringRedisTemplate.convertAndSend(BROADCAST_CHANNEL, serialize(batch));
+    }
+
+    private void flushUserMessages() {
+        if (pendingToUsers.isEmpty()) {
+            return;
+        }
+        List<Envelope> batch = new ArrayList<>();
+        Envelope envelope;
+        while ((envelope = pendingToUsers.poll()) != null) {
+            batch.add(envelope);
+        }
+
+        // 대상 사용자들의 접속 노드를 파이프라인으로 한 번에 조회
+        List<Integer> userIds = batch.stream().map(Envelope::userId).distinct().toList();
+        double now = System.currentTimeMillis();
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Integer userId : userIds) {
+                    operations.opsForZSet().rangeByScore(PRESENCE_KEY_PREFIX + userId, now, Double.POSITIVE_INFINITY);
+                }
+                return null;
+            }
+        });
+
+        Map<Integer, Collection<?>> nodesByUser = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Object nodes = results.get(i);
+            if (nodes instanceof Collection<?> collection && !collection.isEmpty()) {
+                nodesByUser.put(userIds.get(i), collection);
+            }
+        }
+
+        // 노드별로 묶어서 채널당 한 번만 publish
+        Map<String, List<Envelope>> byNode = new HashMap<>();
+        for (Envelope message : batch) {
+            Collection<?> nodes = nodesByUser.get(message.userId());
+            if (nodes == null) {
+                log.debug("Dropping relayed SSE message for offline user {}", message.userId());
+                continue;
+            }
+            for (Object node : nodes) {
+                String target = String.valueOf(node);
+                if (!target.equals(nodeId)) {
+                    byNode.computeIfAbsent(target, k -> new ArrayList<>()).add(message);
+                }
+            }
+        }
+        for (Map.Entry<String, List<Envelope>> entry : byNode.entrySet()) {
+            stringRedisTemplate.convertAndSend(NODE_CHANNEL_PREFIX + entry.getKey(), serialize(entry.getValue()));
+        }
+    }
+
+    private void writePresence(List<Integer> online, List<Integer> offline) {
+        double expiresAt = System.currentTimeMillis() + presenceTtlMs;
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Integer userId : online) {
+                    String key = PRESENCE_KEY_PREFIX + userId;
+                    operations.opsForZSet().add(key, nodeId, expiresAt);
+                    // 만료된 노드 정리 + 키 자체 TTL 연장
+                    operations.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+                    operations.expire(key, presenceTtlMs, TimeUnit.MILLISECONDS);
+                }
+                for (Integer userId : offline) {
+                    operations.opsForZSet().remove(PRESENCE_KEY_PREFIX + userId, nodeId);
+                }
+                return null;
+            }
+        });
+    }
+
+    // ========== 수신 ==========
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        LocalDelivery delivery = localDelivery;
+        if (delivery == null) {
+            return;
+        }
+        try {
+            List<Envelope> envelopes = objectMapper.readValue(message.getBody(), new TypeReference<List<Envelope>>() {
+            });
+            for (Envelope envelope : envelopes) {
+                if (nodeId.equals(envelope.origin())) {
+                    continue; // 자기 자신이 보낸 공지
+                }
+                if (envelope.userId() == null) {
+                    delivery.deliverToAll(envelope.data());
+                } else {
+                    delivery.deliverToUser(envelope.userId(), envelope.data());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle relayed SSE message: {}",
+                    new String(message.getBody(), StandardCharsets.UTF_8), e);
+        }
+    }
+
+    private String serialize(List<Envelope> batch) {
+        try {
+            return objectMapper.writeValueAsString(batch);
+        } catch (Exception e) {
+            throw new IllegalStateException("SSE relay 메시지 직렬화 실패", e);
+        }
+    }
+
+    private static List<Integer> drain(Set<Integer> source) {
+        List<Integer> drained = new ArrayList<>();
+        Iterator<Integer> it = source.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+}
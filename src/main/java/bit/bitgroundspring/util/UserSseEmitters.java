@@ -2,51 +2,128 @@ package bit.bitgroundspring.util;
 
 import bit.bitgroundspring.dto.response.Message;
 import bit.bitgroundspring.dto.response.NotificationResponse;
-import bit.bitgroundspring.entity.Notification;
-import bit.bitgroundspring.entity.User;
-import bit.bitgroundspring.service.NotificationService;
+import bit.bitgroundspring.service.NotificationWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.annotation.PreDestroy;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class UserSseEmitters {
-    private final NotificationService notificationService;
+    private final NotificationWriter notificationWriter;
+    private final SseClusterRelay sseClusterRelay;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    // 브로드캐스트 전송 전용 풀 (AsyncConfig)
+    @Qualifier("sseBroadcastExecutor")
+    private final Executor sseBroadcastExecutor;
+    
+    // 연결당 전송 대기 중인 브로드캐스트 최대 개수 - 넘으면 느린 소비자로 보고 이번 메시지는 버림
+    @Value("${sse.broadcast.max-pending-per-connection:4}")
+    private int maxPendingPerConnection;
+    
+    private Counter deliveredCounter;
+    private Counter droppedCounter;
+    private Counter slowConsumerCounter;
+    
+    @PostConstruct
+    private void registerClusterDelivery() {
+        // 다른 노드에서 넘어온 메시지는 로컬 연결로만 전달 (다시 relay 하지 않음)
+        sseClusterRelay.setLocalDelivery(new SseClusterRelay.LocalDelivery() {
+            @Override
+            public void deliverToUser(Integer userId, NotificationResponse data) {
+                List<EmitterWrapper> wrappers = userEmitters.get(userId);
+                if (wrappers != null && !wrappers.isEmpty()) {
+                    sendToLocalUser(userId, wrappers, data);
+                }
+            }
+            
+            @Override
+            public void deliverToAll(NotificationResponse data) {
+                broadcastLocally(data);
+            }
+        });
+    }
+    
+    @PostConstruct
+    private void initMetrics() {
+        deliveredCounter = Counter.builder("sse.broadcast.delivered")
+                .description("Broadcast events written to SSE connections")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("sse.broadcast.dropped")
+                .description("Broadcast events dropped (slow consumer, executor saturated or write failure)")
+                .register(meterRegistry);
+        slowConsumerCounter = Counter.builder("sse.broadcast.slow_consumer")
+                .description("Broadcast events skipped because the connection had too many pending writes")
+                .register(meterRegistry);
+    }
     
     // 사용자별 SSE 연결 관리
     private final Map<Integer, List<EmitterWrapper>> userEmitters = new ConcurrentHashMap<>();
     
+    // 하트비트 타이밍 휠: 30초 주기를 1초 단위 슬롯 30개로 나눠 매 틱마다 한 슬롯만 처리
+    private static final int WHEEL_SLOTS = 30;
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long STALE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2); // 2분 이상 전송 성공 없음
+    
+    private final List<Set<EmitterWrapper>> wheel = createWheel();
+    private volatile int wheelCursor = 0;
+    
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT_EVENT =
+            SseEmitter.event().name("heartbeat").data("ping").build();
+    
     // 📝 EmitterWrapper - 연결 시간과 상태 관리를 위한 래퍼 클래스
     @Getter
     private static class EmitterWrapper {
         // Getters
+        private final Integer userId;
         private final SseEmitter emitter;
-        private final LocalDateTime connectedAt;
-        private LocalDateTime lastHeartbeatAt;
-        private boolean isAlive;
+        private final int wheelSlot;
+        private final long connectedAtNanos;
+        // 마지막으로 전송(알림/하트비트)에 성공한 시각 (System.nanoTime)
+        private volatile long lastActivityNanos;
+        private volatile boolean isAlive;
+        // 아직 쓰지 못한 이벤트 수 (연결별 백프레셔) - 0 → 1 로 올린 쪽이 전송 루프를 시작
+        private final AtomicInteger pendingBroadcasts = new AtomicInteger();
+        // 연결별 전송 대기열 - 한 번에 하나의 전송 루프만 비우므로 이벤트 순서가 유지됨
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> outbox = new ConcurrentLinkedQueue<>();
         
-        public EmitterWrapper(SseEmitter emitter) {
+        public EmitterWrapper(Integer userId, SseEmitter emitter, int wheelSlot) {
+            this.userId = userId;
             this.emitter = emitter;
-            this.connectedAt = LocalDateTime.now();
-            this.lastHeartbeatAt = LocalDateTime.now();
+            this.wheelSlot = wheelSlot;
+            this.connectedAtNanos = System.nanoTime();
+            this.lastActivityNanos = connectedAtNanos;
             this.isAlive = true;
         }
         
         public void updateHeartbeat() {
-            this.lastHeartbeatAt = LocalDateTime.now();
+            this.lastActivityNanos = System.nanoTime();
             this.isAlive = true;
         }
         
@@ -56,8 +133,12 @@ public class UserSseEmitters {
     }
     
     public void addUser(Integer userId, SseEmitter emitter) {
-        EmitterWrapper wrapper = new EmitterWrapper(emitter);
+        // 방금 처리한 슬롯에 넣어 연결 후 한 주기 뒤에 첫 하트비트 확인 (연결 시각에 따라 슬롯이 고르게 분산)
+        int slot = Math.floorMod(wheelCursor - 1, WHEEL_SLOTS);
+        EmitterWrapper wrapper = new EmitterWrapper(userId, emitter, slot);
         userEmitters.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>()).add(wrapper);
+        wheel.get(slot).add(wrapper);
+        sseClusterRelay.userConnected(userId);
         
         // 연결 관리 콜백 설정
         emitter.onTimeout(() -> removeUser(userId, emitter));
@@ -67,12 +148,22 @@ public class UserSseEmitters {
         log.debug("사용자 {} 연결됨. 총 연결: {}", userId, getUserConnectionCount(userId));
     }
     
+    /**
+     * 사용자에게 알림 전송
+     * @return 이 노드의 연결 중 하나 이상에 실제로 쓴 경우에만 true
+     *         (이 노드에 연결이 없으면 다른 노드로 전달을 맡기고 false - 다른 노드의 전달 여부는 알 수 없음)
+     */
     public boolean sendToUser(Integer userId, NotificationResponse data) {
         List<EmitterWrapper> wrappers = userEmitters.get(userId);
         if (wrappers == null || wrappers.isEmpty()) {
+            // 이 노드에 연결이 없으면 다른 노드로 전달 (Redis 는 이 경우에만 사용)
+            sseClusterRelay.forwardToUser(userId, data);
             return false;
         }
-        
+        return sendToLocalUser(userId, wrappers, data);
+    }
+    
+    private boolean sendToLocalUser(Integer userId, List<EmitterWrapper> wrappers, NotificationResponse data) {
         List<EmitterWrapper> wrappersCopy = new ArrayList<>(wrappers);
         List<EmitterWrapper> deadWrappers = new ArrayList<>();
         boolean hasSuccessfulSend = false;
@@ -92,78 +183,64 @@ public class UserSseEmitters {
         // 죽은 연결 정리
         cleanupDeadWrappers(userId, deadWrappers);
         
-        // 비동기 알림 저장
+        // 알림 저장 (write-behind)
         if (hasSuccessfulSend && (data.getMessage() == Message.ORDER_EXECUTION || data.getMessage() == Message.INQUIRY_UPDATE)) {
-            CompletableFuture.runAsync(() -> saveNotification(userId, data, data.getMessage()));
+            notificationWriter.enqueue(userId, data.getMessage(), data.getData());
         }
         
         return hasSuccessfulSend;
     }
     
-    // 하트비트 전송 - 30초마다 실행
-    @Scheduled(fixedRate = 30000)
-    public void sendHeartbeat() {
-        if (userEmitters.isEmpty()) {
+    /**
+     * 타이밍 휠 한 칸 전진 - 1초마다 실행
+     * - 슬롯에 속한 연결만 확인하므로 틱당 작업량은 전체 연결의 1/30
+     * - 최근 30초 안에 실제 전송이 있었던 연결은 하트비트 생략
+     * - 죽었거나 2분 이상 전송에 성공하지 못한 연결은 여기서 정리
+     * - 하트비트 쓰기는 연결의 전송 대기열을 거쳐 브로드캐스트 풀에서 수행해 느린 소켓이 스케줄러를 막지 않음
+     */
+    @Scheduled(fixedRate = 1000, scheduler = "connectionScheduler")
+    public void advanceHeartbeatWheel() {
+        int slot = wheelCursor;
+        wheelCursor = (slot + 1) % WHEEL_SLOTS;
+        
+        Set<EmitterWrapper> bucket = wheel.get(slot);
+        if (bucket.isEmpty()) {
             return;
         }
         
-        Set<Integer> userIds = new HashSet<>(userEmitters.keySet());
-        int totalFailed = 0;
-        
-        for (Integer userId : userIds) {
-            List<EmitterWrapper> wrappers = userEmitters.get(userId);
-            if (wrappers == null) continue;
-            
-            List<EmitterWrapper> wrappersCopy = new ArrayList<>(wrappers);
-            List<EmitterWrapper> deadWrappers = new ArrayList<>();
-            
-            for (EmitterWrapper wrapper : wrappersCopy) {
-                try {
-                    wrapper.getEmitter().send(SseEmitter.event()
-                            .name("heartbeat")
-                            .data("ping"));
-                    wrapper.updateHeartbeat();
-                } catch (Exception e) {
-                    wrapper.markAsDead();
-                    deadWrappers.add(wrapper);
-                    totalFailed++;
-                }
+        long now = System.nanoTime();
+        int cleanedUp = 0;
+        for (EmitterWrapper wrapper : bucket) {
+            long idleNanos = now - wrapper.getLastActivityNanos();
+            if (!wrapper.isAlive() || idleNanos > STALE_TIMEOUT_NANOS) {
+                cleanupDeadWrappers(wrapper.getUserId(), List.of(wrapper));
+                cleanedUp++;
+                continue;
+            }
+            if (idleNanos >= HEARTBEAT_INTERVAL_NANOS - TimeUnit.SECONDS.toNanos(1)) {
+                scheduleHeartbeat(wrapper);
             }
-            
-            cleanupDeadWrappers(userId, deadWrappers);
         }
         
-        if (totalFailed > 0) {
-            log.debug("하트비트 정리 완료. 정리된 연결: {}", totalFailed);
+        if (cleanedUp > 0) {
+            log.debug("오래된 연결 정리됨: {}", cleanedUp);
         }
     }
     
-    // 죽은 연결 정리 - 2분마다 실행
-    @Scheduled(fixedRate = 120000)
-    public void cleanupStaleConnections() {
-        LocalDateTime threshold = LocalDateTime.now().minusMinutes(2); // 2분 이상 응답 없음
-        
-        Set<Integer> userIds = new HashSet<>(userEmitters.keySet());
-        int cleanedUp = 0;
-        
-        for (Integer userId : userIds) {
-            List<EmitterWrapper> wrappers = userEmitters.get(userId);
-            if (wrappers == null) continue;
-            
-            List<EmitterWrapper> staleWrappers = wrappers.stream()
-                    .filter(wrapper -> !wrapper.isAlive() ||
-                            wrapper.getLastHeartbeatAt().isBefore(threshold))
-                    .collect(Collectors.toList());
-            
-            if (!staleWrappers.isEmpty()) {
-                cleanupDeadWrappers(userId, staleWrappers);
-                cleanedUp += staleWrappers.size();
-            }
+    private static List<Set<EmitterWrapper>> createWheel() {
+        List<Set<EmitterWrapper>> slots = new ArrayList<>(WHEEL_SLOTS);
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
         }
-        
-        if (cleanedUp > 0) {
-            log.debug("오래된 연결 정리됨: {}", cleanedUp);
+        return slots;
+    }
+    
+    private void scheduleHeartbeat(EmitterWrapper wrapper) {
+        // 앞선 전송이 아직 밀려 있으면 하트비트는 건너뜀 (그 전송이 활동 시각을 갱신, 정리는 STALE_TIMEOUT 으로 처리)
+        if (wrapper.getPendingBroadcasts().get() > 0) {
+            return;
         }
+        enqueue(wrapper, HEARTBEAT_EVENT);
     }
     
     // 죽은 연결 정리 헬퍼 메서드
@@ -173,13 +250,14 @@ public class UserSseEmitters {
         List<EmitterWrapper> userWrappers = userEmitters.get(userId);
         if (userWrappers != null) {
             userWrappers.removeAll(deadWrappers);
-            if (userWrappers.isEmpty()) {
-                userEmitters.remove(userId);
+            if (userWrappers.isEmpty() && userEmitters.remove(userId, userWrappers)) {
+                sseClusterRelay.userDisconnected(userId);
             }
         }
         
         // SseEmitter 명시적 완료 처리
         for (EmitterWrapper wrapper : deadWrappers) {
+            wheel.get(wrapper.getWheelSlot()).remove(wrapper);
             try {
                 wrapper.getEmitter().complete();
             } catch (Exception e) {
@@ -188,95 +266,135 @@ public class UserSseEmitters {
         }
     }
     
-    // 비동기 알림 저장 메서드
-    private void saveNotification(Integer userId, NotificationResponse data, Message messageType) {
-        try {
-            Map<String, Object> dataMap = data.getData();
-            String message = "";
-            
-            if (messageType == Message.ORDER_EXECUTION) {
-                String orderType = dataMap.get("orderType").equals("BUY") ? "매수" : "매도";
-                String symbol = (String) dataMap.get("symbol");
-                String cutSymbol = symbol.split("-")[1];
-                Double amount = (Double) dataMap.get("amount");
-                Float tradePrice = (Float) dataMap.get("tradePrice");
-                String formattedPrice = formatPrice(tradePrice);
-                message = String.format("예약 %s 주문이 체결되었습니다.\n수량 : %.7f %s\n체결 : 개당 %s원",
-                        orderType, amount, cutSymbol, formattedPrice);
-            } else if (messageType == Message.INQUIRY_UPDATE) {
-                String title = (String) dataMap.get("title");
-                message = String.format("작성하신 문의사항에 답변이 등록되었습니다.\n지금 바로 확인해보세요.\n📩[%s]", title);
-            }
-            
-            Notification notification = Notification.builder()
-                    .user(User.builder().id(userId).build())
-                    .messageType(messageType)
-                    .message(message)
-                    .build();
-            notificationService.saveNotification(notification);
-            
-        } catch (Exception e) {
-            log.error("알림 저장 실패 - 사용자: {}, 오류: {}", userId, e.getMessage());
-        }
-    }
-    
-    // 병렬 처리로 성능 개선
+    /**
+     * 전체 브로드캐스트
+     * - 이벤트를 한 번만 JSON 바이트로 직렬화해 모든 연결이 같은 버퍼를 공유
+     * - 실제 소켓 쓰기는 sseBroadcastExecutor 에서 수행 (호출 스레드 / 공용 풀을 막지 않음)
+     * - 결과의 success 는 전송 예약된 연결 수, failure 는 건너뛴 연결 수
+     */
     public Map<String, Integer> sendToAll(NotificationResponse request) {
-        Set<Integer> userIds = getOnlineUsers();
+        Map<String, Integer> result = broadcastLocally(request);
         
-        Map<Boolean, List<Integer>> results = userIds.parallelStream()
-                .collect(Collectors.partitioningBy(userId -> sendToUser(userId, request)));
+        // 다른 노드에 연결된 사용자에게도 전달
+        sseClusterRelay.forwardToAll(request);
         
-        int successCount = results.get(true).size();
-        int failureCount = results.get(false).size();
-        
-        Map<String, Integer> result = new HashMap<>();
-        result.put("success", successCount);
-        result.put("failure", failureCount);
+        // 시스템 알림 저장 (write-behind)
+        if (request.getMessage() == Message.SEASON_UPDATE || request.getMessage() == Message.NOTICE) {
+            notificationWriter.enqueueSystem(request.getMessage(), request.getData());
+        }
         
-        log.info("모든 사용자에게 알림 전송 완료. 성공: {}, 실패: {}", successCount, failureCount);
+        return result;
+    }
+    
+    private Map<String, Integer> broadcastLocally(NotificationResponse request) {
+        Set<ResponseBodyEmitter.DataWithMediaType> event;
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(request);
+            event = SseEmitter.event().data(payload, MediaType.APPLICATION_JSON).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("알림 직렬화 실패", e);
+        }
         
-        // 시스템 알림 비동기 저장
-        if (request.getMessage() == Message.SEASON_UPDATE || request.getMessage() == Message.NOTICE) {
-            CompletableFuture.runAsync(() -> saveSystemNotification(request));
+        int scheduled = 0;
+        int skipped = 0;
+        for (List<EmitterWrapper> wrappers : userEmitters.values()) {
+            for (EmitterWrapper wrapper : wrappers) {
+                if (scheduleBroadcast(wrapper, event)) {
+                    scheduled++;
+                } else {
+                    skipped++;
+                }
+            }
         }
         
+        Map<String, Integer> result = new HashMap<>();
+        result.put("success", scheduled);
+        result.put("failure", skipped);
+        
+        log.info("모든 사용자에게 알림 전송 예약 완료. 예약: {}, 건너뜀: {}", scheduled, skipped);
         return result;
     }
     
-    // 시스템 알림 저장
-    private void saveSystemNotification(NotificationResponse request) {
+    // 연결 하나에 브로드캐스트 전송 예약 - 앞선 전송이 밀려 있으면 느린 소비자로 보고 버림
+    private boolean scheduleBroadcast(EmitterWrapper wrapper, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (!wrapper.isAlive()) {
+            droppedCounter.increment();
+            return false;
+        }
+        // 대략적인 상한 (경쟁으로 조금 넘칠 수 있음)
+        if (wrapper.getPendingBroadcasts().get() >= maxPendingPerConnection) {
+            slowConsumerCounter.increment();
+            droppedCounter.increment();
+            return false;
+        }
+        return enqueue(wrapper, event);
+    }
+    
+    /**
+     * 연결의 전송 대기열에 추가 - 대기열이 비어 있었으면 전송 루프를 풀에 제출
+     * (연결마다 루프는 최대 하나이므로 같은 연결로의 쓰기는 순서대로, 동시에 일어나지 않음)
+     */
+    private boolean enqueue(EmitterWrapper wrapper, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        wrapper.getOutbox().add(event);
+        if (wrapper.getPendingBroadcasts().getAndIncrement() > 0) {
+            return true; // 이미 돌고 있는 루프가 이어서 보냄
+        }
         try {
-            Map<String, Object> dataMap = request.getData();
-            String message = "";
-            
-            if (request.getMessage() == Message.SEASON_UPDATE) {
-                String seasonName = (String) dataMap.get("seasonName");
-                String seasonFlag = (String) dataMap.get("seasonFlag");
-                message = getMessage(seasonFlag, seasonName);
-            } else if (request.getMessage() == Message.NOTICE) {
-                String title = (String) dataMap.get("title");
-                message = String.format("🔔 새로운 공지사항이 등록되었습니다.\n고객센터 탭에서 확인해보세요.\n[%s]", title);
+            sseBroadcastExecutor.execute(() -> drainOutbox(wrapper));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 루프를 시작하지 못했으므로 그 사이 쌓인 것까지 모두 버림
+            do {
+                if (wrapper.getOutbox().poll() != HEARTBEAT_EVENT) {
+                    droppedCounter.increment();
+                }
+            } while (wrapper.getPendingBroadcasts().decrementAndGet() > 0);
+            return false;
+        }
+    }
+    
+    private void drainOutbox(EmitterWrapper wrapper) {
+        do {
+            deliver(wrapper, wrapper.getOutbox().poll());
+        } while (wrapper.getPendingBroadcasts().decrementAndGet() > 0);
+    }
+    
+    private void deliver(EmitterWrapper wrapper, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        boolean heartbeat = event == HEARTBEAT_EVENT;
+        if (event == null || !wrapper.isAlive()) {
+            if (!heartbeat) {
+                droppedCounter.increment();
+            }
+            return;
+        }
+        try {
+            wrapper.getEmitter().send(event);
+            wrapper.updateHeartbeat();
+            if (!heartbeat) {
+                deliveredCounter.increment();
             }
-            
-            Notification notification = Notification.builder()
-                    .user(User.builder().id(1).build())
-                    .messageType(request.getMessage())
-                    .message(message)
-                    .build();
-            notificationService.saveNotification(notification);
-            
         } catch (Exception e) {
-            log.error("시스템 알림 저장 실패: {}", e.getMessage());
+            log.debug("사용자 {}에게 전송 실패: {}", wrapper.getUserId(), e.getMessage());
+            if (!heartbeat) {
+                droppedCounter.increment();
+            }
+            wrapper.markAsDead();
+            cleanupDeadWrappers(wrapper.getUserId(), List.of(wrapper));
         }
     }
     
     public void removeUser(Integer userId, SseEmitter emitter) {
         List<EmitterWrapper> wrappers = userEmitters.get(userId);
         if (wrappers != null) {
-            wrappers.removeIf(wrapper -> wrapper.getEmitter().equals(emitter));
-            if (wrappers.isEmpty()) {
-                userEmitters.remove(userId);
+            for (EmitterWrapper wrapper : wrappers) {
+                if (wrapper.getEmitter().equals(emitter)) {
+                    wrapper.markAsDead();
+                    wheel.get(wrapper.getWheelSlot()).remove(wrapper);
+                    wrappers.remove(wrapper);
+                }
+            }
+            if (wrappers.isEmpty() && userEmitters.remove(userId, wrappers)) {
+                sseClusterRelay.userDisconnected(userId);
             }
         }
         log.debug("사용자 {} 연결 해제됨", userId);
@@ -297,28 +415,6 @@ public class UserSseEmitters {
     }
     
     
-    private String getMessage(String seasonFlag, String seasonName) {
-        if (seasonFlag.equals("season")) {
-            return String.format("🎉 %s 스플릿 1 🎉\n새로운 시즌이 시작되었습니다!\n이전 랭킹과 수익률을 확인해보세요.", seasonName);
-        } else if (seasonFlag.equals("split")) {
-            return String.format("🚀 %s 스플릿 2 🚀\n새로운 스플릿이 시작되었습니다!\n10,000,000원의 추가 자금이 지급됩니다.", seasonName);
-        }
-        return "";
-    }
-    
-    // 가격 형식 지정 메소드 - 불필요한 0 제거
-    private String formatPrice(Float price) {
-        if (price == null) return "0";
-        
-        // 정수인 경우 소수점 표시 안 함
-        if (price == Math.floor(price)) {
-            return String.format("%,d", price.intValue());
-        }
-        
-        // 소수점이 있는 경우 불필요한 0 제거
-        return String.format("%,.8f", price).replaceAll("0+$", "").replaceAll("\\.$", "");
-    }
-    
     // 🔄 애플리케이션 종료 시 모든 연결 정리
     @PreDestroy
     public void cleanup() {
@@ -336,6 +432,9 @@ public class UserSseEmitters {
             );
             
             userEmitters.clear();
+            for (Set<EmitterWrapper> bucket : wheel) {
+                bucket.clear();
+            }
             log.info("SSE 연결 정리 완료");
         }
     }
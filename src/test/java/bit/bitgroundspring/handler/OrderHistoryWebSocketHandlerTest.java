@@ -0,0 +1,124 @@
+package bit.bitgroundspring.handler;
+
+import bit.bitgroundspring.entity.Coin;
+import bit.bitgroundspring.entity.Order;
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.entity.Status;
+import bit.bitgroundspring.event.OrderCreatedEvent;
+import bit.bitgroundspring.event.OrderEventMetrics;
+import bit.bitgroundspring.service.RecentTradeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderHistoryWebSocketHandlerTest {
+
+    private static final String SYMBOL = "KRW-BTC";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private OrderHistoryWebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        RecentTradeService recentTradeService = mock(RecentTradeService.class);
+        when(recentTradeService.getRecentTradesJson(SYMBOL)).thenReturn("[]");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        handler = new OrderHistoryWebSocketHandler(objectMapper, recentTradeService, meterRegistry,
+                new OrderEventMetrics(meterRegistry));
+        // flush 는 테스트에서 직접 호출
+        ReflectionTestUtils.setField(handler, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(handler, "pendingCapacity", 16);
+        ReflectionTestUtils.setField(handler, "sendTimeLimitMs", 5000);
+        ReflectionTestUtils.setField(handler, "bufferSizeLimit", 512 * 1024);
+        ReflectionTestUtils.setField(handler, "sendThreads", 2);
+        ReflectionTestUtils.setField(handler, "maxPendingFrames", 40);
+        ReflectionTestUtils.invokeMethod(handler, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        ReflectionTestUtils.invokeMethod(handler, "shutdown");
+    }
+
+    @Test
+    void stalledSessionDoesNotBlockOthersAndTradesArriveAsOneFrame() throws Exception {
+        WebSocketSession stalled = session("stalled", new CopyOnWriteArrayList<>(), new CountDownLatch(1), true);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch twoFrames = new CountDownLatch(2);
+        WebSocketSession healthy = session("healthy", received, twoFrames, false);
+        subscribe(stalled);
+        subscribe(healthy);
+
+        handler.onOrderCreated(executed(1, 100.0));
+        handler.onOrderCreated(executed(2, 200.0));
+        ReflectionTestUtils.invokeMethod(handler, "flush");
+
+        assertThat(twoFrames.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(objectMapper.readTree(received.get(0)).get("type").asText()).isEqualTo("initial");
+        JsonNode update = objectMapper.readTree(received.get(1));
+        assertThat(update.get("type").asText()).isEqualTo("update");
+        // 같은 flush 에 모인 체결은 최신순 배열 하나로
+        assertThat(update.get("data")).hasSize(2);
+        assertThat(update.get("data").get(0).get("tradePrice").asDouble()).isEqualTo(200.0);
+        assertThat(update.get("data").get(1).get("tradePrice").asDouble()).isEqualTo(100.0);
+    }
+
+    private void subscribe(WebSocketSession session) throws Exception {
+        handler.afterConnectionEstablished(session);
+        handler.handleTextMessage(session,
+                new TextMessage("{\"action\":\"subscribe\",\"symbol\":\"" + SYMBOL + "\"}"));
+    }
+
+    private WebSocketSession session(String id, List<String> received, CountDownLatch latch, boolean stall)
+            throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            if (stall) {
+                unblock.await(10, TimeUnit.SECONDS);
+            }
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            received.add((String) message.getPayload());
+            latch.countDown();
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private static OrderCreatedEvent executed(int id, double price) {
+        Coin coin = Coin.builder().symbol(SYMBOL).koreanName("비트코인").build();
+        Order order = Order.builder()
+                .id(id)
+                .coin(coin)
+                .orderType(OrderType.BUY)
+                .status(Status.COMPLETED)
+                .amount(1.0)
+                .tradePrice(price)
+                .createdAt(LocalDateTime.of(2025, 6, 1, 12, id))
+                .updatedAt(LocalDateTime.of(2025, 6, 1, 12, id))
+                .build();
+        return new OrderCreatedEvent(OrderHistoryWebSocketHandlerTest.class, order);
+    }
+}
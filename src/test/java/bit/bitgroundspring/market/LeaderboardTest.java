@@ -0,0 +1,91 @@
+package bit.bitgroundspring.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    private final Leaderboard board = new Leaderboard();
+
+    @Test
+    void ordersByScoreDescendingFromTop() {
+        board.update(0, 10.0);
+        board.update(1, 30.0);
+        board.update(2, 20.0);
+
+        assertThat(top(3)).containsExactly(1, 2, 0);
+        assertThat(bottom(3)).containsExactly(0, 2, 1);
+    }
+
+    @Test
+    void tiesAreOrderedBySymbolId() {
+        board.update(5, 1.0);
+        board.update(2, 1.0);
+        board.update(9, 1.0);
+        board.update(7, 2.0);
+
+        // 점수가 같으면 심볼 ID 오름차순, 하위 목록은 그 역순
+        assertThat(top(4)).containsExactly(7, 2, 5, 9);
+        assertThat(bottom(4)).containsExactly(9, 5, 2, 7);
+    }
+
+    @Test
+    void updateMovesSymbolToNewPosition() {
+        board.update(0, 10.0);
+        board.update(1, 20.0);
+        board.update(2, 30.0);
+
+        board.update(0, 40.0);
+        board.update(2, 5.0);
+
+        assertThat(top(3)).containsExactly(0, 1, 2);
+        assertThat(board.score(0)).isEqualTo(40.0);
+    }
+
+    @Test
+    void nanRemovesSymbolFromRanking() {
+        board.update(0, 10.0);
+        board.update(1, 20.0);
+
+        board.update(1, Double.NaN);
+
+        assertThat(top(5)).containsExactly(0);
+        board.update(1, Double.NaN);
+        assertThat(top(5)).containsExactly(0);
+    }
+
+    @Test
+    void collectIsLimitedByArrayLength() {
+        for (int id = 0; id < 10; id++) {
+            board.update(id, id);
+        }
+
+        assertThat(top(3)).containsExactly(9, 8, 7);
+        assertThat(bottom(3)).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void clearEmptiesRankingAndAllowsReinsert() {
+        board.update(0, 10.0);
+        board.update(1, 20.0);
+
+        board.clear();
+        assertThat(board.isEmpty()).isTrue();
+
+        board.update(0, 10.0);
+        assertThat(top(5)).containsExactly(0);
+    }
+
+    private int[] top(int k) {
+        int[] ids = new int[k];
+        return Arrays.copyOf(ids, board.collect(true, ids));
+    }
+
+    private int[] bottom(int k) {
+        int[] ids = new int[k];
+        return Arrays.copyOf(ids, board.collect(false, ids));
+    }
+}
@@ -0,0 +1,120 @@
+package bit.bitgroundspring.market;
+
+import bit.bitgroundspring.service.CoinService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TickerDecoderTest {
+
+    private SymbolRegistry symbolRegistry;
+    private TickerDecoder decoder;
+    private final TickerFrame frame = new TickerFrame();
+
+    @BeforeEach
+    void setUp() {
+        symbolRegistry = new SymbolRegistry(mock(CoinService.class));
+        decoder = new TickerDecoder(symbolRegistry);
+    }
+
+    @Test
+    void decodesSimpleFormatTicker() {
+        int btc = symbolRegistry.register("KRW-BTC");
+
+        boolean decoded = decoder.decode(utf8("{\"ty\":\"ticker\",\"cd\":\"KRW-BTC\",\"tp\":98765000.0,"
+                + "\"scr\":-0.0123,\"atp24h\":123456789012.5,\"hp\":99000000,\"lp\":97000000,"
+                + "\"tms\":1718000000123,\"st\":\"REALTIME\"}"), frame);
+
+        assertThat(decoded).isTrue();
+        assertThat(frame.symbolId).isEqualTo(btc);
+        assertThat(frame.tradePrice).isEqualTo(98_765_000.0);
+        assertThat(frame.changeRate).isEqualTo(-0.0123);
+        assertThat(frame.accTradePrice24h).isEqualTo(123_456_789_012.5);
+        assertThat(frame.highPrice).isEqualTo(99_000_000.0);
+        assertThat(frame.lowPrice).isEqualTo(97_000_000.0);
+        assertThat(frame.timestamp).isEqualTo(1_718_000_000_123L);
+    }
+
+    @Test
+    void skipsUnknownFieldsOfEveryKind() {
+        boolean decoded = decoder.decode(utf8("{ \"x\" : \"a\\\"b,}\" , \"flag\":true, \"n\":null,"
+                + " \"big\":1.5e300, \"cd\" : \"KRW-ETH\" , \"tp\" : 5000 }"), frame);
+
+        assertThat(decoded).isTrue();
+        assertThat(symbolRegistry.nameOf(frame.symbolId)).isEqualTo("KRW-ETH");
+        assertThat(frame.tradePrice).isEqualTo(5000.0);
+        assertThat(frame.changeRate).isNaN();
+    }
+
+    @Test
+    void registersNewSymbolOnce() {
+        decoder.decode(utf8("{\"cd\":\"KRW-NEW\",\"tp\":1}"), frame);
+        int first = frame.symbolId;
+        decoder.decode(utf8("{\"cd\":\"KRW-NEW\",\"tp\":2}"), frame);
+
+        assertThat(frame.symbolId).isEqualTo(first);
+        assertThat(symbolRegistry.idOf("KRW-NEW")).isEqualTo(first);
+    }
+
+    @Test
+    void decodesOnlyBetweenPositionAndLimitWithoutMovingPosition() {
+        byte[] payload = "garbage{\"cd\":\"KRW-BTC\",\"tp\":10}garbage".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        buffer.position(7).limit(payload.length - 7);
+
+        assertThat(decoder.decode(buffer, frame)).isTrue();
+        assertThat(frame.tradePrice).isEqualTo(10.0);
+        assertThat(buffer.position()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsIncompleteOrMalformedMessages() {
+        assertThat(decoder.decode(utf8("{\"cd\":\"KRW-BTC\"}"), frame)).isFalse();
+        assertThat(decoder.decode(utf8("{\"tp\":100}"), frame)).isFalse();
+        assertThat(decoder.decode(utf8("{\"cd\":\"KRW-BTC\",\"tp\":0}"), frame)).isFalse();
+        assertThat(decoder.decode(utf8("[1,2]"), frame)).isFalse();
+        assertThat(decoder.decode(utf8("{\"cd\":\"KRW-BTC\",\"tp\":"), frame)).isFalse();
+        assertThat(decoder.decode(utf8(""), frame)).isFalse();
+    }
+
+    @Test
+    void frameIsResetBetweenMessages() {
+        decoder.decode(utf8("{\"cd\":\"KRW-BTC\",\"tp\":10,\"scr\":0.5}"), frame);
+        decoder.decode(utf8("{\"cd\":\"KRW-BTC\",\"tp\":11}"), frame);
+
+        assertThat(frame.tradePrice).isEqualTo(11.0);
+        assertThat(frame.changeRate).isNaN();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "1", "-1", "0.1", "123.456", "-0.0123", "98765000.0", "1e3", "1.5E-7", "2.5e+10",
+            "0.000000001", "9007199254740993", "12345678901234567890.123", "1.7976931348623157e308",
+            "4.9e-324", "0.1234567890123456789"
+    })
+    void parseDoubleMatchesJdk(String number) {
+        assertThat(parse(number)).isEqualTo(Double.parseDouble(number));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", ".", "null", "1.2.3", "abc", "1x"})
+    void parseDoubleReturnsNaNForNonNumbers(String value) {
+        assertThat(parse(value)).isNaN();
+    }
+
+    private static double parse(String value) {
+        ByteBuffer buffer = utf8(value);
+        return TickerDecoder.parseDouble(buffer, 0, buffer.limit());
+    }
+
+    private static ByteBuffer utf8(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package bit.bitgroundspring.matching;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchingPipelineTest {
+
+    private final Map<String, Double> handled = new ConcurrentHashMap<>();
+    private MatchingPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveShardCount() {
+        assertThatThrownBy(() -> new MatchingPipeline(0, 8, (symbol, price) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pendingSymbolIsCoalescedToLatestPrice() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        pipeline = new MatchingPipeline(1, 8, (symbol, price) -> {
+            handled.put(symbol, price);
+            latch.countDown();
+        });
+
+        // 시작 전에 제출하면 모두 대기 상태로 남으므로 합치기가 결정적으로 일어남
+        pipeline.submit("KRW-BTC", 100.0);
+        pipeline.submit("KRW-BTC", 101.0);
+        pipeline.submit("KRW-BTC", 102.0);
+
+        assertThat(pipeline.getSubmittedTicks()).isEqualTo(3);
+        assertThat(pipeline.getCoalescedTicks()).isEqualTo(2);
+        assertThat(pipeline.getBacklog()).isEqualTo(1);
+
+        pipeline.start();
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled).containsExactly(Map.entry("KRW-BTC", 102.0));
+    }
+
+    @Test
+    void tickIsDroppedWhenRingIsFull() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        pipeline = new MatchingPipeline(1, 2, (symbol, price) -> {
+            handled.put(symbol, price);
+            latch.countDown();
+        });
+
+        pipeline.submit("KRW-BTC", 1.0);
+        pipeline.submit("KRW-ETH", 2.0);
+        pipeline.submit("KRW-XRP", 3.0);
+
+        assertThat(pipeline.getDroppedTicks()).isEqualTo(1);
+        assertThat(pipeline.getBacklog()).isEqualTo(2);
+
+        // 버려진 심볼은 대기 목록에서도 빠지므로 다음 시세가 다시 링에 들어감
+        pipeline.start();
+        awaitBacklogDrained();
+        pipeline.submit("KRW-XRP", 4.0);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled).containsOnly(
+                Map.entry("KRW-BTC", 1.0),
+                Map.entry("KRW-ETH", 2.0),
+                Map.entry("KRW-XRP", 4.0));
+    }
+
+    @Test
+    void handlerFailureDoesNotStopShard() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        pipeline = new MatchingPipeline(1, 8, (symbol, price) -> {
+            if (symbol.equals("KRW-BAD")) {
+                throw new IllegalStateException("boom");
+            }
+            handled.put(symbol, price);
+            latch.countDown();
+        });
+        pipeline.start();
+
+        pipeline.submit("KRW-BAD", 1.0);
+        pipeline.submit("KRW-BTC", 2.0);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled).containsExactly(Map.entry("KRW-BTC", 2.0));
+    }
+
+    private void awaitBacklogDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pipeline.getBacklog() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(pipeline.getBacklog()).isZero();
+    }
+}
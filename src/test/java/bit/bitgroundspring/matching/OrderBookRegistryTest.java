@@ -0,0 +1,139 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.dto.projection.PendingOrderEntryProjection;
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderBookRegistryTest {
+
+    private OrderRepository orderRepository;
+    private OrderMirror orderMirror;
+    private OrderBookRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderMirror = mock(OrderMirror.class);
+        registry = new OrderBookRegistry(orderRepository, orderMirror);
+    }
+
+    @Test
+    void pollCrossingIsScopedToSymbol() {
+        registry.add(1, "KRW-BTC", OrderType.BUY, 100.0);
+        registry.add(2, "KRW-ETH", OrderType.BUY, 100.0);
+
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.BUY, 100.0)).containsExactly(1);
+        assertThat(registry.pollCrossing("KRW-XRP", OrderType.BUY, 100.0)).isEmpty();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollCrossingRespectsPriceBoundary() {
+        registry.add(1, "KRW-BTC", OrderType.SELL, 100.0);
+
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.SELL, 99.99)).isEmpty();
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.SELL, 100.0)).containsExactly(1);
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void removeDropsOrderFromBookAndIndex() {
+        registry.add(1, "KRW-BTC", OrderType.BUY, 100.0);
+
+        assertThat(registry.remove(1)).isTrue();
+        assertThat(registry.remove(1)).isFalse();
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.BUY, 50.0)).isEmpty();
+    }
+
+    @Test
+    void rebuildReplacesBooksWithPendingOrders() {
+        registry.add(99, "KRW-BTC", OrderType.BUY, 100.0);
+        List<PendingOrderEntryProjection> pending = List.of(
+                entry(1, "KRW-BTC", OrderType.BUY, 100f),
+                entry(2, "KRW-ETH", OrderType.SELL, 200f),
+                entry(3, "KRW-ETH", OrderType.SELL, null));
+        when(orderRepository.findPendingOrderEntriesForCurrentSeason()).thenReturn(pending);
+
+        registry.rebuild();
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.BUY, 100.0)).containsExactly(1);
+        assertThat(registry.pollCrossing("KRW-ETH", OrderType.SELL, 200.0)).containsExactly(2);
+    }
+
+    @Test
+    void rebuildSkipsDeadLetteredOrders() {
+        List<PendingOrderEntryProjection> pending = List.of(
+                entry(1, "KRW-BTC", OrderType.BUY, 100f),
+                entry(2, "KRW-BTC", OrderType.BUY, 100f));
+        when(orderRepository.findPendingOrderEntriesForCurrentSeason()).thenReturn(pending);
+        when(orderMirror.deadLetteredOrderIds()).thenReturn(Set.of(2));
+
+        registry.rebuild();
+
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.BUY, 100.0)).containsExactly(1);
+    }
+
+    @Test
+    void addDuringRebuildIsAppliedAfterReplacement() throws Exception {
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<PendingOrderEntryProjection> pending = List.of(entry(1, "KRW-BTC", OrderType.BUY, 100f));
+        when(orderRepository.findPendingOrderEntriesForCurrentSeason()).thenAnswer(invocation -> {
+            queried.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return pending;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> rebuild = executor.submit(registry::rebuild);
+            assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 재구성이 쓰기 락을 잡고 있는 동안의 등록은 교체 이후에 반영되어야 함
+            Future<?> add = executor.submit(() -> registry.add(2, "KRW-BTC", OrderType.BUY, 90.0));
+            release.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+            add.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.BUY, 80.0)).containsExactly(1, 2);
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        registry.add(1, "KRW-BTC", OrderType.BUY, 100.0);
+        registry.add(2, "KRW-ETH", OrderType.SELL, 100.0);
+
+        registry.clear();
+
+        assertThat(registry.size()).isZero();
+        assertThat(registry.pollCrossing("KRW-BTC", OrderType.BUY, 0.0)).isEmpty();
+    }
+
+    private static PendingOrderEntryProjection entry(int id, String symbol, OrderType orderType, Float reservePrice) {
+        PendingOrderEntryProjection entry = mock(PendingOrderEntryProjection.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getSymbol()).thenReturn(symbol);
+        when(entry.getOrderType()).thenReturn(orderType);
+        when(entry.getReservePrice()).thenReturn(reservePrice);
+        return entry;
+    }
+}
@@ -0,0 +1,98 @@
+package bit.bitgroundspring.matching;
+
+import bit.bitgroundspring.entity.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    private final OrderBook book = new OrderBook("KRW-BTC");
+
+    @Test
+    void buyCrossesWhenPriceFallsToReservePrice() {
+        book.add(1, OrderType.BUY, 100.0);
+        book.add(2, OrderType.BUY, 90.0);
+
+        // 감시 가격보다 높으면 체결 대상 없음
+        assertThat(book.pollCrossing(OrderType.BUY, 100.5)).isEmpty();
+
+        // 감시 가격과 같으면 체결 (경계 포함)
+        assertThat(book.pollCrossing(OrderType.BUY, 100.0)).containsExactly(1);
+        assertThat(book.size()).isEqualTo(1);
+    }
+
+    @Test
+    void buyReturnsHigherReservePricesFirst() {
+        book.add(1, OrderType.BUY, 90.0);
+        book.add(2, OrderType.BUY, 110.0);
+        book.add(3, OrderType.BUY, 100.0);
+        book.add(4, OrderType.BUY, 80.0);
+
+        assertThat(book.pollCrossing(OrderType.BUY, 85.0)).containsExactly(2, 3, 1);
+        assertThat(book.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sellCrossesWhenPriceRisesToReservePrice() {
+        book.add(1, OrderType.SELL, 100.0);
+        book.add(2, OrderType.SELL, 120.0);
+
+        assertThat(book.pollCrossing(OrderType.SELL, 99.9)).isEmpty();
+        assertThat(book.pollCrossing(OrderType.SELL, 100.0)).containsExactly(1);
+        assertThat(book.pollCrossing(OrderType.SELL, 130.0)).containsExactly(2);
+        assertThat(book.isEmpty()).isTrue();
+    }
+
+    @Test
+    void samePriceLevelKeepsInsertionOrder() {
+        book.add(3, OrderType.SELL, 100.0);
+        book.add(1, OrderType.SELL, 100.0);
+        book.add(2, OrderType.SELL, 100.0);
+
+        assertThat(book.pollCrossing(OrderType.SELL, 100.0)).containsExactly(3, 1, 2);
+    }
+
+    @Test
+    void buyAndSellSidesAreIndependent() {
+        book.add(1, OrderType.BUY, 100.0);
+        book.add(2, OrderType.SELL, 100.0);
+
+        assertThat(book.pollCrossing(OrderType.SELL, 100.0)).containsExactly(2);
+        assertThat(book.pollCrossing(OrderType.BUY, 100.0)).containsExactly(1);
+    }
+
+    @Test
+    void polledOrdersAreNotReturnedAgain() {
+        book.add(1, OrderType.BUY, 100.0);
+
+        assertThat(book.pollCrossing(OrderType.BUY, 50.0)).containsExactly(1);
+        assertThat(book.pollCrossing(OrderType.BUY, 50.0)).isEmpty();
+        assertThat(book.remove(1)).isFalse();
+    }
+
+    @Test
+    void duplicateAddIsIgnored() {
+        book.add(1, OrderType.BUY, 100.0);
+        book.add(1, OrderType.BUY, 200.0);
+
+        assertThat(book.size()).isEqualTo(1);
+        assertThat(book.pollCrossing(OrderType.BUY, 150.0)).isEmpty();
+        assertThat(book.pollCrossing(OrderType.BUY, 100.0)).containsExactly(1);
+    }
+
+    @Test
+    void removedOrderIsNotPolled() {
+        book.add(1, OrderType.SELL, 100.0);
+        book.add(2, OrderType.SELL, 100.0);
+
+        assertThat(book.remove(1)).isTrue();
+        assertThat(book.remove(1)).isFalse();
+
+        List<Integer> matched = book.pollCrossing(OrderType.SELL, 100.0);
+        assertThat(matched).containsExactly(2);
+        assertThat(book.isEmpty()).isTrue();
+    }
+}
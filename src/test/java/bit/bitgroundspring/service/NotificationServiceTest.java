@@ -0,0 +1,140 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.dto.projection.NotificationProjection;
+import bit.bitgroundspring.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private static final int USER_ID = 10;
+    private static final int SYSTEM = NotificationWriter.SYSTEM_USER_ID;
+    private static final LocalDateTime T = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private NotificationRepository notificationRepository;
+    private StringRedisTemplate stringRedisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private NotificationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        doReturn(valueOperations).when(stringRedisTemplate).opsForValue();
+        service = new NotificationService(notificationRepository, stringRedisTemplate);
+    }
+
+    @Test
+    void mergeBreaksCreatedAtTiesByIdDescending() {
+        List<NotificationProjection> personal = List.of(notification(5, T), notification(2, T.minusSeconds(1)));
+        List<NotificationProjection> system = List.of(notification(7, T), notification(4, T));
+        when(notificationRepository.findLatestByUserId(USER_ID, PageRequest.of(0, 5))).thenReturn(personal);
+        when(notificationRepository.findLatestByUserId(SYSTEM, PageRequest.of(0, 5))).thenReturn(system);
+
+        Slice<NotificationProjection> slice = service.findNotificationsBefore(USER_ID, null, null, 4);
+
+        assertThat(ids(slice)).containsExactly(7, 5, 4, 2);
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    void cursorIsPassedToBothStreams() {
+        when(notificationRepository.findByUserIdBefore(USER_ID, T, 5, PageRequest.of(0, 3)))
+                .thenReturn(List.of(notification(3, T), notification(1, T.minusSeconds(2))));
+        when(notificationRepository.findByUserIdBefore(SYSTEM, T, 5, PageRequest.of(0, 3)))
+                .thenReturn(List.of(notification(4, T), notification(2, T.minusSeconds(1))));
+
+        // 커서 (T, 5) 와 createdAt 이 같은 알림은 더 작은 ID 만 이어서 나옴
+        Slice<NotificationProjection> slice = service.findNotificationsBefore(USER_ID, T, 5, 2);
+
+        assertThat(ids(slice)).containsExactly(4, 3);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void hasNextIsFalseWhenExactlyOnePageRemains() {
+        when(notificationRepository.findByUserIdBefore(eq(USER_ID), eq(T), eq(9), any(Pageable.class)))
+                .thenReturn(List.of(notification(8, T), notification(6, T.minusSeconds(1))));
+        when(notificationRepository.findByUserIdBefore(eq(SYSTEM), eq(T), eq(9), any(Pageable.class)))
+                .thenReturn(List.of(notification(7, T)));
+
+        Slice<NotificationProjection> full = service.findNotificationsBefore(USER_ID, T, 9, 3);
+        Slice<NotificationProjection> shorter = service.findNotificationsBefore(USER_ID, T, 9, 2);
+
+        assertThat(ids(full)).containsExactly(8, 7, 6);
+        assertThat(full.hasNext()).isFalse();
+        assertThat(ids(shorter)).containsExactly(8, 7);
+        assertThat(shorter.hasNext()).isTrue();
+    }
+
+    @Test
+    void systemUserDoesNotMergeItsOwnStreamTwice() {
+        when(notificationRepository.findLatestByUserId(SYSTEM, PageRequest.of(0, 3)))
+                .thenReturn(List.of(notification(2, T), notification(1, T)));
+
+        Slice<NotificationProjection> slice = service.findNotificationsBefore(SYSTEM, null, null, 2);
+
+        assertThat(ids(slice)).containsExactly(2, 1);
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void counterRebuildIsStoredOnlyUnderItsOwnMarker() {
+        // 시스템 사용자는 개인 카운터만 사용
+        when(notificationRepository.countByIsReadFalseAndUser_Id(SYSTEM)).thenReturn(3);
+
+        assertThat(service.countUnreadNotifications(SYSTEM)).isEqualTo(3);
+
+        // DB 개수를 세기 전에 표시를 남기고, 저장은 같은 토큰이 남아 있을 때만
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq("notification:unread:rebuilding:" + SYSTEM), token.capture(),
+                eq(5L), eq(TimeUnit.SECONDS));
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of("notification:unread:" + SYSTEM, "notification:unread:rebuilding:" + SYSTEM)),
+                eq(token.getValue()), eq("3"), eq("86400"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void incrementAlsoInvalidatesRebuildInProgress() {
+        service.onNotificationsInserted(Map.of(USER_ID, 2));
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of("notification:unread:" + USER_ID, "notification:unread:rebuilding:" + USER_ID)),
+                eq("2"));
+    }
+
+    private static List<Integer> ids(Slice<NotificationProjection> slice) {
+        return slice.getContent().stream().map(NotificationProjection::getId).toList();
+    }
+
+    private static NotificationProjection notification(int id, LocalDateTime createdAt) {
+        NotificationProjection notification = mock(NotificationProjection.class);
+        when(notification.getId()).thenReturn(id);
+        when(notification.getCreatedAt()).thenReturn(createdAt);
+        return notification;
+    }
+}
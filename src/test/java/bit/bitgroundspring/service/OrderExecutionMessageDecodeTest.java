@@ -0,0 +1,50 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.util.ExecutionMessageCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderExecutionMessageDecodeTest {
+
+    @Test
+    void decodesBinaryMessage() {
+        byte[] message = ExecutionMessageCodec.encode(7, 1234.5, 1_718_000_000_000L);
+        OrderExecutionService.ExecutionRequest request = OrderExecutionService.decodeExecutionMessage(message);
+
+        assertThat(request.orderId()).isEqualTo(7);
+        assertThat(request.executionPrice()).isEqualTo(1234.5);
+        assertThat(request.queuedAt()).isEqualTo(1_718_000_000_000L);
+        // 처리 중 목록에서 지울 때 원본 바이트가 그대로 필요
+        assertThat(request.message()).isSameAs(message);
+    }
+
+    @Test
+    void fallsBackToLegacyJsonString() {
+        // 기존 RedisTemplate(Jackson) 으로 쌓인 메시지는 따옴표로 감싸진 "id:price:millis"
+        byte[] message = utf8("\"12:100.5:1718000000000\"");
+        OrderExecutionService.ExecutionRequest quoted = OrderExecutionService.decodeExecutionMessage(message);
+        assertThat(quoted.orderId()).isEqualTo(12);
+        assertThat(quoted.executionPrice()).isEqualTo(100.5);
+        assertThat(quoted.queuedAt()).isEqualTo(1_718_000_000_000L);
+        assertThat(quoted.message()).isSameAs(message);
+
+        OrderExecutionService.ExecutionRequest plain = OrderExecutionService.decodeExecutionMessage(
+                utf8("12:100.5:1718000000000"));
+        assertThat(plain).usingRecursiveComparison().ignoringFields("message").isEqualTo(quoted);
+    }
+
+    @Test
+    void rejectsMalformedMessages() {
+        assertThat(OrderExecutionService.decodeExecutionMessage(null)).isNull();
+        assertThat(OrderExecutionService.decodeExecutionMessage(new byte[0])).isNull();
+        assertThat(OrderExecutionService.decodeExecutionMessage(utf8("\"12:100.5\""))).isNull();
+        assertThat(OrderExecutionService.decodeExecutionMessage(utf8("\"abc:100.5:1\""))).isNull();
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package bit.bitgroundspring.service;
+
+import bit.bitgroundspring.dto.TradeDto;
+import bit.bitgroundspring.dto.projection.RecentTradeProjection;
+import bit.bitgroundspring.entity.Coin;
+import bit.bitgroundspring.entity.Order;
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.entity.Status;
+import bit.bitgroundspring.event.OrderCreatedEvent;
+import bit.bitgroundspring.event.OrderEventMetrics;
+import bit.bitgroundspring.market.SymbolRegistry;
+import bit.bitgroundspring.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecentTradeServiceTest {
+
+    private static final String SYMBOL = "KRW-BTC";
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private OrderRepository orderRepository;
+    private RecentTradeService service;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        SymbolRegistry symbolRegistry = mock(SymbolRegistry.class);
+        when(symbolRegistry.idOf(SYMBOL)).thenReturn(0);
+        service = new RecentTradeService(orderRepository, symbolRegistry, new ObjectMapper(),
+                new OrderEventMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "windowSize", 2);
+    }
+
+    @Test
+    void skipsEventForTradeAlreadyLoadedFromDatabase() {
+        // 최신순
+        List<RecentTradeProjection> seed = List.of(entry(2, 200.0), entry(1, 100.0));
+        when(orderRepository.findRecentTradeEntries(eq(SYMBOL), eq(Status.COMPLETED), any())).thenReturn(seed);
+        assertThat(prices()).containsExactly(200.0, 100.0);
+
+        // 커밋 후 늦게 도착한 이벤트가 DB 에서 이미 읽은 체결과 겹침
+        service.onOrderCreated(executed(2, 200.0));
+
+        assertThat(prices()).containsExactly(200.0, 100.0);
+    }
+
+    @Test
+    void acceptsOrderAgainOnceItLeftTheWindow() {
+        when(orderRepository.findRecentTradeEntries(eq(SYMBOL), eq(Status.COMPLETED), any()))
+                .thenReturn(List.of(entry(1, 100.0)));
+        prices();
+
+        service.onOrderCreated(executed(2, 200.0));
+        service.onOrderCreated(executed(3, 300.0));
+        assertThat(prices()).containsExactly(300.0, 200.0);
+
+        // 1 은 밀려났으므로 중복 확인 대상이 아님
+        service.onOrderCreated(executed(1, 100.0));
+        assertThat(prices()).containsExactly(100.0, 300.0);
+    }
+
+    private List<Double> prices() {
+        return service.getRecentTrades(SYMBOL).stream().map(TradeDto::getTradePrice).toList();
+    }
+
+    private static RecentTradeProjection entry(int id, double price) {
+        RecentTradeProjection entry = mock(RecentTradeProjection.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getSymbol()).thenReturn(SYMBOL);
+        when(entry.getKoreanName()).thenReturn("비트코인");
+        when(entry.getOrderType()).thenReturn(OrderType.BUY);
+        when(entry.getAmount()).thenReturn(1.0);
+        when(entry.getTradePrice()).thenReturn(price);
+        when(entry.getCreatedAt()).thenReturn(BASE.plusMinutes(id));
+        when(entry.getUpdatedAt()).thenReturn(BASE.plusMinutes(id));
+        return entry;
+    }
+
+    private static OrderCreatedEvent executed(int id, double price) {
+        Coin coin = Coin.builder().symbol(SYMBOL).koreanName("비트코인").build();
+        Order order = Order.builder()
+                .id(id)
+                .coin(coin)
+                .orderType(OrderType.BUY)
+                .status(Status.COMPLETED)
+                .amount(1.0)
+                .tradePrice(price)
+                .createdAt(BASE.plusMinutes(id))
+                .updatedAt(BASE.plusMinutes(id))
+                .build();
+        return new OrderCreatedEvent(RecentTradeServiceTest.class, order);
+    }
+}
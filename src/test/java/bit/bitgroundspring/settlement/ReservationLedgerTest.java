@@ -0,0 +1,128 @@
+package bit.bitgroundspring.settlement;
+
+import bit.bitgroundspring.entity.OrderType;
+import bit.bitgroundspring.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationLedgerTest {
+
+    private StringRedisTemplate stringRedisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationLedger ledger;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        doReturn(hashOperations).when(stringRedisTemplate).opsForHash();
+        meterRegistry = new SimpleMeterRegistry();
+        ledger = new ReservationLedger(mock(OrderRepository.class), stringRedisTemplate, meterRegistry);
+        ReflectionTestUtils.invokeMethod(ledger, "init");
+    }
+
+    @Test
+    void buyReservesCashAndSellReservesQuantity() {
+        assertThat(ReservationLedger.Reservation.of(10, 100, OrderType.BUY, 1_000.0, 2.5))
+                .isEqualTo(new ReservationLedger.Reservation(10, "cash", 2_500.0));
+        assertThat(ReservationLedger.Reservation.of(10, 100, OrderType.SELL, 1_000.0, 0.75))
+                .isEqualTo(new ReservationLedger.Reservation(10, "qty:100", 0.75));
+    }
+
+    @Test
+    void readsTotalsFromUserHash() {
+        when(hashOperations.get("reservation:user:10", "cash")).thenReturn("3000.4");
+        when(hashOperations.get("reservation:user:10", "qty:100")).thenReturn("0.75");
+        when(hashOperations.entries("reservation:user:10")).thenReturn(Map.of(
+                "cash", "3000.4", "qty:100", "0.75", "qty:200", "3"));
+
+        assertThat(ledger.reservedCash(10)).isEqualTo(3_000);
+        assertThat(ledger.reservedCash(11)).isZero();
+        assertThat(ledger.reservedQuantity(10, 100)).isEqualTo(0.75);
+        assertThat(ledger.reservedQuantity(10, 300)).isZero();
+        assertThat(ledger.reservedQuantities(10)).containsOnly(Map.entry(100, 0.75), Map.entry(200, 3.0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tryReserveReportsScriptResult() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(1L, 0L);
+
+        assertThat(ledger.tryReserve(1, 10, 100, OrderType.BUY, 1_000.0, 1.0, 5_000.0)).isTrue();
+        assertThat(ledger.tryReserve(2, 10, 100, OrderType.BUY, 1_000.0, 9.0, 5_000.0)).isFalse();
+        assertThat(meterRegistry.get("reservation.ledger.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releaseSwallowsRedisFailures() {
+        doThrow(new IllegalStateException("redis down")).when(stringRedisTemplate)
+                .execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+        ledger.release(1);
+    }
+
+    @Test
+    void planRepairsMissingAndDifferingReservations() {
+        Map<Integer, ReservationLedger.Reservation> expected = Map.of(
+                1, new ReservationLedger.Reservation(10, "cash", 1_000.0),
+                2, new ReservationLedger.Reservation(10, "qty:100", 2.0),
+                3, new ReservationLedger.Reservation(10, "qty:200", 4.0));
+        Map<Integer, ReservationLedger.Reservation> current = Map.of(
+                2, new ReservationLedger.Reservation(10, "qty:100", 1.0),
+                3, new ReservationLedger.Reservation(10, "qty:200", 4.0));
+
+        ReservationLedger.ReconcilePlan plan = ReservationLedger.plan(expected, current,
+                Map.of(2, 0L, 3, 0L), 1_000L);
+
+        assertThat(plan.toRepair()).containsOnlyKeys(1, 2);
+        assertThat(plan.toRelease()).isEmpty();
+        assertThat(plan.size()).isEqualTo(2);
+    }
+
+    @Test
+    void planReleasesOnlyOldReservationsMissingFromDatabase() {
+        Map<Integer, ReservationLedger.Reservation> current = Map.of(
+                1, new ReservationLedger.Reservation(10, "cash", 1_000.0),
+                2, new ReservationLedger.Reservation(10, "cash", 500.0),
+                3, new ReservationLedger.Reservation(11, "qty:100", 1.0));
+        // 1: 오래됨, 2: 아직 커밋 전일 수 있는 최근 예약, 3: 인덱스 없이 기록만 남은 예약, 4: 기록 없이 인덱스만 남음
+        Map<Integer, Long> reservedAt = Map.of(1, 100L, 2, 5_000L, 4, 200L);
+
+        ReservationLedger.ReconcilePlan plan = ReservationLedger.plan(Map.of(), current, reservedAt, 1_000L);
+
+        assertThat(plan.toRepair()).isEmpty();
+        assertThat(plan.toRelease()).containsExactlyInAnyOrder(1, 3, 4);
+    }
+
+    @Test
+    void planIsEmptyWhenLedgerMatchesDatabase() {
+        Map<Integer, ReservationLedger.Reservation> reservations = Map.of(
+                1, new ReservationLedger.Reservation(10, "cash", 1_000.0));
+
+        ReservationLedger.ReconcilePlan plan = ReservationLedger.plan(reservations, reservations,
+                Map.of(1, 0L), Long.MAX_VALUE);
+
+        assertThat(plan.size()).isZero();
+        assertThat(plan.toRelease()).isEqualTo(List.of());
+    }
+}
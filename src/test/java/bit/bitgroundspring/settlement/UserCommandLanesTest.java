@@ -0,0 +1,141 @@
+package bit.bitgroundspring.settlement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserCommandLanesTest {
+
+    private UserCommandLanes lanes;
+
+    @AfterEach
+    void tearDown() {
+        if (lanes != null) {
+            ReflectionTestUtils.invokeMethod(lanes, "shutdown");
+        }
+    }
+
+    @Test
+    void commandsOfSameUserRunInSubmissionOrder() {
+        lanes = lanes(true, 4, 10_000);
+        Map<Integer, List<Integer>> executed = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int seq = 0; seq < 500; seq++) {
+            for (int userId = 1; userId <= 6; userId++) {
+                int user = userId;
+                int value = seq;
+                futures.add(lanes.submit(lanes.laneOf(user), () -> {
+                    executed.computeIfAbsent(user, k -> Collections.synchronizedList(new ArrayList<>())).add(value);
+                    return null;
+                }));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(executed).hasSize(6);
+        for (List<Integer> values : executed.values()) {
+            assertThat(values).hasSize(500).isSorted();
+        }
+    }
+
+    @Test
+    void sameUserAlwaysMapsToSameLane() {
+        lanes = lanes(true, 8, 16);
+
+        assertThat(lanes.laneOf(42)).isEqualTo(lanes.laneOf(42));
+        assertThat(lanes.laneOf(42)).isBetween(0, 7);
+        assertThat(lanes.laneOf(-3)).isBetween(0, 7);
+        assertThat(lanes.laneOf(null)).isZero();
+    }
+
+    @Test
+    void commandsRunOnLaneThreads() {
+        lanes = lanes(true, 2, 16);
+
+        assertThat(UserCommandLanes.isLaneThread()).isFalse();
+        assertThat(lanes.call(1, UserCommandLanes::isLaneThread)).isTrue();
+        assertThat(lanes.call(1, () -> Thread.currentThread().getName())).startsWith("UserLane-");
+    }
+
+    @Test
+    void nestedCallFromLaneRunsInline() {
+        lanes = lanes(true, 1, 16);
+
+        // 레인 안에서 다시 레인 작업을 기다려도 교착 없이 그 자리에서 실행
+        String name = lanes.call(1, () -> lanes.call(2, () -> Thread.currentThread().getName()));
+        assertThat(name).isEqualTo("UserLane-0");
+    }
+
+    @Test
+    void commandExceptionIsRethrownToCaller() {
+        lanes = lanes(true, 2, 16);
+
+        assertThatThrownBy(() -> lanes.call(1, () -> {
+            throw new IllegalArgumentException("잔액 부족");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("잔액 부족");
+
+        // 실패한 뒤에도 같은 레인은 계속 동작
+        assertThat(lanes.call(1, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void fullLaneRejectsWithIllegalStateException() throws Exception {
+        lanes = lanes(true, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> running = lanes.submit(0, () -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Object> queued = lanes.submit(0, () -> null);
+
+        assertThatThrownBy(() -> lanes.submit(0, () -> null))
+                .isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void disabledLanesRunOnCallerThread() {
+        lanes = lanes(false, 2, 16);
+        Thread caller = Thread.currentThread();
+
+        assertThat(lanes.call(1, Thread::currentThread)).isSameAs(caller);
+    }
+
+    private static UserCommandLanes lanes(boolean enabled, int laneCount, int queueCapacity) {
+        UserCommandLanes lanes = new UserCommandLanes(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(lanes, "enabled", enabled);
+        ReflectionTestUtils.setField(lanes, "laneCount", laneCount);
+        ReflectionTestUtils.setField(lanes, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.invokeMethod(lanes, "init");
+        return lanes;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package bit.bitgroundspring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new BoundedRingBuffer<String>(2).capacity()).isEqualTo(2);
+        assertThat(new BoundedRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new BoundedRingBuffer<String>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void rejectsTooSmallCapacityAndNullElements() {
+        assertThatThrownBy(() -> new BoundedRingBuffer<String>(1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedRingBuffer<String>(2).offer(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void pollsInFifoOrder() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        ring.offer(1);
+        ring.offer(2);
+        ring.offer(3);
+
+        assertThat(ring.size()).isEqualTo(3);
+        assertThat(ring.poll()).isEqualTo(1);
+        assertThat(ring.poll()).isEqualTo(2);
+        assertThat(ring.poll()).isEqualTo(3);
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void offerReturnsFalseWhenFullAndSucceedsAfterPoll() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+
+        assertThat(ring.poll()).isEqualTo(0);
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isFalse();
+    }
+
+    @Test
+    void wrapsAroundManyTimes() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(2);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(ring.offer(i)).isTrue();
+            assertThat(ring.poll()).isEqualTo(i);
+        }
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void concurrentProducersAndConsumersDeliverEachElementOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(64);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        try {
+            for (int c = 0; c < 2; c++) {
+                executor.submit(() -> {
+                    while (done.getCount() > 0) {
+                        Integer value = ring.poll();
+                        if (value == null) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        received.add(value);
+                        done.countDown();
+                    }
+                });
+            }
+            for (int p = 0; p < producers; p++) {
+                int start = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = start; i < start + perProducer; i++) {
+                        while (!ring.offer(i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+            }
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+}
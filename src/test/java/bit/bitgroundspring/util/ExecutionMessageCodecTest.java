@@ -0,0 +1,64 @@
+package bit.bitgroundspring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionMessageCodecTest {
+
+    @Test
+    void roundTripsFields() {
+        byte[] bytes = ExecutionMessageCodec.encode(123_456, 98_765.4321, 1_718_000_000_123L);
+
+        assertThat(bytes).hasSize(ExecutionMessageCodec.LENGTH);
+        assertThat(ExecutionMessageCodec.isSupported(bytes)).isTrue();
+        assertThat(ExecutionMessageCodec.orderId(bytes)).isEqualTo(123_456);
+        assertThat(ExecutionMessageCodec.executionPrice(bytes)).isEqualTo(98_765.4321);
+        assertThat(ExecutionMessageCodec.queuedAt(bytes)).isEqualTo(1_718_000_000_123L);
+    }
+
+    @Test
+    void roundTripsExtremeValues() {
+        byte[] bytes = ExecutionMessageCodec.encode(Integer.MAX_VALUE, Double.MIN_VALUE, Long.MAX_VALUE);
+        assertThat(ExecutionMessageCodec.orderId(bytes)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(ExecutionMessageCodec.executionPrice(bytes)).isEqualTo(Double.MIN_VALUE);
+        assertThat(ExecutionMessageCodec.queuedAt(bytes)).isEqualTo(Long.MAX_VALUE);
+
+        bytes = ExecutionMessageCodec.encode(-1, -0.5, 0L);
+        assertThat(ExecutionMessageCodec.orderId(bytes)).isEqualTo(-1);
+        assertThat(ExecutionMessageCodec.executionPrice(bytes)).isEqualTo(-0.5);
+        assertThat(ExecutionMessageCodec.queuedAt(bytes)).isZero();
+    }
+
+    @Test
+    void layoutIsBigEndianVersionIdPriceQueuedAt() {
+        byte[] bytes = ExecutionMessageCodec.encode(42, 1.5, 7L);
+
+        // 체결 스크립트(Lua struct.pack(">Bi4di8")) 가 만드는 배치와 같아야 함
+        ByteBuffer expected = ByteBuffer.allocate(ExecutionMessageCodec.LENGTH)
+                .put(ExecutionMessageCodec.VERSION)
+                .putInt(42)
+                .putDouble(1.5)
+                .putLong(7L);
+        assertThat(bytes).isEqualTo(expected.array());
+    }
+
+    @Test
+    void legacyAndMalformedMessagesAreNotSupported() {
+        byte[] legacy = "\"12:100.5:1718000000000\"".getBytes(StandardCharsets.UTF_8);
+        assertThat(ExecutionMessageCodec.isSupported(legacy)).isFalse();
+        assertThat(ExecutionMessageCodec.isSupported(null)).isFalse();
+        assertThat(ExecutionMessageCodec.isSupported(new byte[0])).isFalse();
+
+        byte[] wrongVersion = ExecutionMessageCodec.encode(1, 1.0, 1L);
+        wrongVersion[0] = 2;
+        assertThat(ExecutionMessageCodec.isSupported(wrongVersion)).isFalse();
+
+        byte[] truncated = new byte[ExecutionMessageCodec.LENGTH - 1];
+        truncated[0] = ExecutionMessageCodec.VERSION;
+        assertThat(ExecutionMessageCodec.isSupported(truncated)).isFalse();
+    }
+}
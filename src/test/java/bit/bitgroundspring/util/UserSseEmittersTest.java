@@ -0,0 +1,139 @@
+package bit.bitgroundspring.util;
+
+import bit.bitgroundspring.dto.response.Message;
+import bit.bitgroundspring.dto.response.MessageType;
+import bit.bitgroundspring.dto.response.NotificationResponse;
+import bit.bitgroundspring.service.NotificationWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserSseEmittersTest {
+
+    private static final int EVENTS = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private UserSseEmitters emitters;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        meterRegistry = new SimpleMeterRegistry();
+        emitters = new UserSseEmitters(mock(NotificationWriter.class), mock(SseClusterRelay.class),
+                objectMapper, meterRegistry, executor);
+        ReflectionTestUtils.setField(emitters, "maxPendingPerConnection", EVENTS);
+        ReflectionTestUtils.invokeMethod(emitters, "initMetrics");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void broadcastsReachEachConnectionInOrderWithoutConcurrentWrites() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(EVENTS);
+        RecordingEmitter second = new RecordingEmitter(EVENTS);
+        emitters.addUser(1, first);
+        emitters.addUser(2, second);
+
+        for (int i = 0; i < EVENTS; i++) {
+            emitters.sendToAll(event(i));
+        }
+
+        assertThat(first.received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.received.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Integer> expected = IntStream.range(0, EVENTS).boxed().toList();
+        assertThat(first.sequence).containsExactlyElementsOf(expected);
+        assertThat(second.sequence).containsExactlyElementsOf(expected);
+        assertThat(first.maxConcurrentWrites.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("sse.broadcast.delivered").counter().count()).isEqualTo(2.0 * EVENTS);
+    }
+
+    @Test
+    void slowConnectionDropsEventsBeyondPendingLimit() throws Exception {
+        ReflectionTestUtils.setField(emitters, "maxPendingPerConnection", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(2) {
+            @Override
+            protected void beforeWrite() throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+            }
+        };
+        emitters.addUser(1, slow);
+
+        Map<String, Integer> first = emitters.sendToAll(event(0));
+        emitters.sendToAll(event(1));
+        Map<String, Integer> third = emitters.sendToAll(event(2));
+        release.countDown();
+
+        assertThat(first.get("success")).isEqualTo(1);
+        assertThat(third.get("failure")).isEqualTo(1);
+        assertThat(slow.received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.sequence).containsExactly(0, 1);
+        assertThat(meterRegistry.get("sse.broadcast.slow_consumer").counter().count()).isEqualTo(1.0);
+    }
+
+    private static NotificationResponse event(int seq) {
+        return new NotificationResponse(MessageType.INFO, Message.ORDER_EXECUTION, Map.of("seq", seq));
+    }
+
+    /**
+     * 받은 이벤트의 seq 를 기록하고 동시에 실행된 쓰기 수를 잼
+     */
+    private class RecordingEmitter extends SseEmitter {
+
+        private final List<Integer> sequence = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final AtomicInteger writing = new AtomicInteger();
+        private final AtomicInteger maxConcurrentWrites = new AtomicInteger();
+
+        private RecordingEmitter(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        protected void beforeWrite() throws InterruptedException {
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            int concurrent = writing.incrementAndGet();
+            maxConcurrentWrites.accumulateAndGet(concurrent, Math::max);
+            try {
+                beforeWrite();
+                for (DataWithMediaType item : items) {
+                    if (item.getData() instanceof byte[] payload) {
+                        NotificationResponse response = objectMapper.readValue(payload, NotificationResponse.class);
+                        sequence.add((Integer) response.getData().get("seq"));
+                        received.countDown();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                writing.decrementAndGet();
+            }
+        }
+    }
+}